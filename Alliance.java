@@ -26,6 +26,11 @@ public enum Alliance {
             return "WHITE";
         }
 
+        @Override
+        public Alliance getOpposite() {
+            return BLACK;
+        }
+
         @Override
         public Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer) {
             return whitePlayer;
@@ -52,6 +57,11 @@ public enum Alliance {
             return "BLACK";
         }
 
+        @Override
+        public Alliance getOpposite() {
+            return WHITE;
+        }
+
         @Override
         public Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer) {
             return blackPlayer;
@@ -61,6 +71,7 @@ public enum Alliance {
     public abstract boolean isWhite();
     public abstract boolean isBlack();
     public abstract String toString();
+    public abstract Alliance getOpposite();
 
     public abstract Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer);
 }
@@ -1,6 +1,7 @@
 package chess.engine.board;
 
 import chess.engine.Alliance;
+import chess.engine.eval.Evaluator;
 import chess.engine.move.Move;
 import chess.engine.pieces.*;
 import chess.engine.player.BlackPlayer;
@@ -9,84 +10,127 @@ import chess.engine.player.WhitePlayer;
 
 import java.util.*;
 
-public class Board {
-    private List<Tile> board;
-    private final Collection<Piece> whitePieces;
-    private final Collection<Piece> blackPieces;
+public class Board implements BoardState {
+    //each tile holds bitBoardIndex + 1 of its piece, 0 when empty
+    private final byte[] mailbox;
+    private final long[] pieceBitBoards;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private volatile Collection<Piece> whitePieces;
+    private volatile Collection<Piece> blackPieces;
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
     private final Move transitionMove;
+    private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final long zobristKey;
+    private final int middlegameScore;
+    private final int endgameScore;
+    private final int gamePhase;
+    //a side always attacks the tiles around its king, so 0 means not calculated yet
+    private volatile long whiteAttackedSquares;
+    private volatile long blackAttackedSquares;
 
     public Board(Builder builder) {
-        this.board = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.board, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(this.board, Alliance.BLACK);
+        //the builder keeps its bitboards and scores in step with its mailbox, so nothing is rescanned here
+        this.mailbox = builder.mailbox.clone();
+        this.pieceBitBoards = builder.pieceBitBoards.clone();
+        this.whiteOccupancy = builder.occupancy[Alliance.WHITE.ordinal()];
+        this.blackOccupancy = builder.occupancy[Alliance.BLACK.ordinal()];
+        this.middlegameScore = builder.middlegameScore;
+        this.endgameScore = builder.endgameScore;
+        this.gamePhase = builder.gamePhase;
         this.whitePlayer = new WhitePlayer(this);
         this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
         this.transitionMove = builder.transitionMove != null ? builder.transitionMove : Move.MoveFactory.getNullMove();
+        this.enPassantPawn = builder.enPassantPawn;
+        this.castlingRights = builder.castlingRights & calculateCastlingRights();
+        this.zobristKey = builder.hasZobristKey ? builder.zobristKey : Zobrist.calculateKey(this);
     }
 
-    private static Collection<Piece> calculateActivePieces(List<Tile> gameBoard, Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<>();
-        for(final Tile tile : gameBoard) {
-            if(tile.isTileOccupied()) {
-                final Piece piece = tile.getPiece();
-                if(piece.getAlliance() == alliance){
-                    activePieces.add(piece);
-                }
+    private static final int NUM_BIT_BOARDS = 12;
+    private static final int NUM_PIECE_TYPES = 6;
+
+    public static int bitBoardIndex(Alliance alliance, Piece.PieceType pieceType) {
+        return alliance.ordinal() * 6 + pieceType.ordinal();
+    }
+
+    //the rights a board can still hold are the ones whose king and rook stand on their starting tiles
+    private int calculateCastlingRights() {
+        int castlingRights = 0;
+        if(isOnTile(60, Piece.PieceType.KING, Alliance.WHITE)) {
+            if(isOnTile(63, Piece.PieceType.ROOK, Alliance.WHITE)) {
+                castlingRights |= BoardUtils.WHITE_KING_SIDE_CASTLE;
+            }
+            if(isOnTile(56, Piece.PieceType.ROOK, Alliance.WHITE)) {
+                castlingRights |= BoardUtils.WHITE_QUEEN_SIDE_CASTLE;
             }
         }
-        return Collections.unmodifiableList(activePieces);
+        if(isOnTile(4, Piece.PieceType.KING, Alliance.BLACK)) {
+            if(isOnTile(7, Piece.PieceType.ROOK, Alliance.BLACK)) {
+                castlingRights |= BoardUtils.BLACK_KING_SIDE_CASTLE;
+            }
+            if(isOnTile(0, Piece.PieceType.ROOK, Alliance.BLACK)) {
+                castlingRights |= BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+            }
+        }
+        return castlingRights;
+    }
+
+    private boolean isOnTile(int location, Piece.PieceType pieceType, Alliance alliance) {
+        return this.mailbox[location] == bitBoardIndex(alliance, pieceType) + 1;
     }
 
-    private static List<Tile> createGameBoard(Builder builder) {
-        Tile[] tiles = new Tile[64];
-        for(int i = 0; i < 64; i++) {
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+    private Collection<Piece> calculateActivePieces(long occupancy) {
+        final List<Piece> activePieces = new ArrayList<>(Long.bitCount(occupancy));
+        while(occupancy != 0) {
+            activePieces.add(getPiece(Long.numberOfTrailingZeros(occupancy)));
+            occupancy &= occupancy - 1;
         }
-        return Collections.unmodifiableList(Arrays.asList(tiles));
+        return Collections.unmodifiableList(activePieces);
     }
 
     public static Board createStartingGameBoard() {
         final Builder builder = new Builder();
         //Black Pieces
-        builder.setPiece(new Rook(0, Alliance.BLACK));
-        builder.setPiece(new Knight(1, Alliance.BLACK));
-        builder.setPiece(new Bishop(2, Alliance.BLACK));
-        builder.setPiece(new Queen(3, Alliance.BLACK));
-        builder.setPiece(new King(4, Alliance.BLACK));
-        builder.setPiece(new Bishop(5, Alliance.BLACK));
-        builder.setPiece(new Knight(6, Alliance.BLACK));
-        builder.setPiece(new Rook(7, Alliance.BLACK));
-        builder.setPiece(new Pawn(8, Alliance.BLACK));
-        builder.setPiece(new Pawn(9, Alliance.BLACK));
-        builder.setPiece(new Pawn(10, Alliance.BLACK));
-        builder.setPiece(new Pawn(11, Alliance.BLACK));
-        builder.setPiece(new Pawn(12, Alliance.BLACK));
-        builder.setPiece(new Pawn(13, Alliance.BLACK));
-        builder.setPiece(new Pawn(14, Alliance.BLACK));
-        builder.setPiece(new Pawn(15, Alliance.BLACK));
+        builder.setPiece(Piece.of(Piece.PieceType.ROOK, Alliance.BLACK, 0));
+        builder.setPiece(Piece.of(Piece.PieceType.KNIGHT, Alliance.BLACK, 1));
+        builder.setPiece(Piece.of(Piece.PieceType.BISHOP, Alliance.BLACK, 2));
+        builder.setPiece(Piece.of(Piece.PieceType.QUEEN, Alliance.BLACK, 3));
+        builder.setPiece(Piece.of(Piece.PieceType.KING, Alliance.BLACK, 4));
+        builder.setPiece(Piece.of(Piece.PieceType.BISHOP, Alliance.BLACK, 5));
+        builder.setPiece(Piece.of(Piece.PieceType.KNIGHT, Alliance.BLACK, 6));
+        builder.setPiece(Piece.of(Piece.PieceType.ROOK, Alliance.BLACK, 7));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.BLACK, 8));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.BLACK, 9));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.BLACK, 10));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.BLACK, 11));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.BLACK, 12));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.BLACK, 13));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.BLACK, 14));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.BLACK, 15));
         //White Pieces
-        builder.setPiece(new Pawn(48, Alliance.WHITE));
-        builder.setPiece(new Pawn(49, Alliance.WHITE));
-        builder.setPiece(new Pawn(50, Alliance.WHITE));
-        builder.setPiece(new Pawn(51, Alliance.WHITE));
-        builder.setPiece(new Pawn(52, Alliance.WHITE));
-        builder.setPiece(new Pawn(53, Alliance.WHITE));
-        builder.setPiece(new Pawn(54, Alliance.WHITE));
-        builder.setPiece(new Pawn(55, Alliance.WHITE));
-        builder.setPiece(new Rook(56, Alliance.WHITE));
-        builder.setPiece(new Knight(57, Alliance.WHITE));
-        builder.setPiece(new Bishop(58, Alliance.WHITE));
-        builder.setPiece(new Queen(59, Alliance.WHITE));
-        builder.setPiece(new King(60, Alliance.WHITE));
-        builder.setPiece(new Bishop(61, Alliance.WHITE));
-        builder.setPiece(new Knight(62, Alliance.WHITE));
-        builder.setPiece(new Rook(63, Alliance.WHITE));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.WHITE, 48));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.WHITE, 49));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.WHITE, 50));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.WHITE, 51));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.WHITE, 52));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.WHITE, 53));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.WHITE, 54));
+        builder.setPiece(Piece.of(Piece.PieceType.PAWN, Alliance.WHITE, 55));
+        builder.setPiece(Piece.of(Piece.PieceType.ROOK, Alliance.WHITE, 56));
+        builder.setPiece(Piece.of(Piece.PieceType.KNIGHT, Alliance.WHITE, 57));
+        builder.setPiece(Piece.of(Piece.PieceType.BISHOP, Alliance.WHITE, 58));
+        builder.setPiece(Piece.of(Piece.PieceType.QUEEN, Alliance.WHITE, 59));
+        builder.setPiece(Piece.of(Piece.PieceType.KING, Alliance.WHITE, 60));
+        builder.setPiece(Piece.of(Piece.PieceType.BISHOP, Alliance.WHITE, 61));
+        builder.setPiece(Piece.of(Piece.PieceType.KNIGHT, Alliance.WHITE, 62));
+        builder.setPiece(Piece.of(Piece.PieceType.ROOK, Alliance.WHITE, 63));
 
         builder.setMoveMaker(Alliance.WHITE);
+        builder.setCastlingRights(BoardUtils.ALL_CASTLES);
 
         return builder.build();
     }
@@ -107,15 +151,61 @@ public class Board {
     }
 
     public Tile getTile(int location) {
-        return this.board.get(location);
+        return Tile.getTile(location, this.mailbox[location]);
+    }
+
+    public Piece getPiece(int location) {
+        return Piece.of(this.mailbox[location], location);
+    }
+
+    public int getKingSquare(Alliance alliance) {
+        return Long.numberOfTrailingZeros(this.pieceBitBoards[bitBoardIndex(alliance, Piece.PieceType.KING)]);
+    }
+
+    public int getPieceCount(Alliance alliance, Piece.PieceType pieceType) {
+        return Long.bitCount(this.pieceBitBoards[bitBoardIndex(alliance, pieceType)]);
+    }
+
+    public boolean isTileOccupied(int location) {
+        return ((this.whiteOccupancy | this.blackOccupancy) & (1L << location)) != 0;
+    }
+
+    @Override
+    public int getPieceCode(int location) {
+        return this.mailbox[location];
+    }
+
+    @Override
+    public long getPieces(Alliance alliance, Piece.PieceType pieceType) {
+        return this.pieceBitBoards[bitBoardIndex(alliance, pieceType)];
+    }
+
+    @Override
+    public long getOccupancy(Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    @Override
+    public long getOccupancy() {
+        return this.whiteOccupancy | this.blackOccupancy;
     }
 
     public Collection<Piece> getWhitePieces() {
-        return this.whitePieces;
+        Collection<Piece> pieces = this.whitePieces;
+        if(pieces == null) {
+            pieces = calculateActivePieces(this.whiteOccupancy);
+            this.whitePieces = pieces;
+        }
+        return pieces;
     }
 
     public Collection<Piece> getBlackPieces() {
-        return this.blackPieces;
+        Collection<Piece> pieces = this.blackPieces;
+        if(pieces == null) {
+            pieces = calculateActivePieces(this.blackOccupancy);
+            this.blackPieces = pieces;
+        }
+        return pieces;
     }
 
     public Player getWhitePlayer() {
@@ -126,18 +216,137 @@ public class Board {
         return this.blackPlayer;
     }
 
+    public Player getPlayer(Alliance alliance) {
+        return alliance.choosePlayer(this.whitePlayer, this.blackPlayer);
+    }
+
     public Player getCurrentPlayer() {
         return this.currentPlayer;
     }
 
+    public Pawn getEnPassantPawn() {
+        return this.enPassantPawn;
+    }
+
+    @Override
+    public int getEnPassantSquare() {
+        if(this.enPassantPawn == null) {
+            return -1;
+        }
+        return this.enPassantPawn.getPiecePosition() - this.enPassantPawn.getAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    @Override
+    public long getAttackedSquares(Alliance attacker) {
+        long attacked = attacker.isWhite() ? this.whiteAttackedSquares : this.blackAttackedSquares;
+        if(attacked == 0) {
+            attacked = BoardUtils.attackedSquares(this, attacker);
+            if(attacker.isWhite()) {
+                this.whiteAttackedSquares = attacked;
+            } else {
+                this.blackAttackedSquares = attacked;
+            }
+        }
+        return attacked;
+    }
+
+    @Override
+    public int getMiddlegameScore() {
+        return this.middlegameScore;
+    }
+
+    @Override
+    public int getEndgameScore() {
+        return this.endgameScore;
+    }
+
+    @Override
+    public int getGamePhase() {
+        return this.gamePhase;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (this.zobristKey ^ (this.zobristKey >>> 32));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if(this == other) {
+            return true;
+        }
+        if(!(other instanceof Board)) {
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return this.zobristKey == otherBoard.zobristKey &&
+                this.currentPlayer.getAlliance() == otherBoard.currentPlayer.getAlliance() &&
+                this.castlingRights == otherBoard.castlingRights &&
+                Zobrist.enPassant(this.enPassantPawn) == Zobrist.enPassant(otherBoard.enPassantPawn) &&
+                Arrays.equals(this.pieceBitBoards, otherBoard.pieceBitBoards);
+    }
+
     public static class Builder {
-        private Map<Integer, Piece> boardConfig;
+        //piece codes by tile, as in the board's own mailbox
+        private final byte[] mailbox;
+        private final long[] pieceBitBoards;
+        private final long[] occupancy;
+        private int middlegameScore;
+        private int endgameScore;
+        private int gamePhase;
         private Move transitionMove;
         private Alliance nextMoveMaker;
         private Pawn enPassantPawn;
+        private int castlingRights;
+        private long zobristKey;
+        private boolean hasZobristKey;
 
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.mailbox = new byte[BoardUtils.NUM_TILES];
+            this.pieceBitBoards = new long[NUM_BIT_BOARDS];
+            this.occupancy = new long[Alliance.values().length];
+        }
+
+        //starts from the pieces of an existing board, so only the tiles a move changes need to be set
+        public Builder(Board board) {
+            this();
+            setPieces(board);
+        }
+
+        public Builder reset() {
+            Arrays.fill(this.mailbox, (byte) 0);
+            Arrays.fill(this.pieceBitBoards, 0L);
+            Arrays.fill(this.occupancy, 0L);
+            this.middlegameScore = 0;
+            this.endgameScore = 0;
+            this.gamePhase = 0;
+            this.transitionMove = null;
+            this.nextMoveMaker = null;
+            this.enPassantPawn = null;
+            this.castlingRights = 0;
+            this.zobristKey = 0L;
+            this.hasZobristKey = false;
+            return this;
+        }
+
+        public Builder setPieces(Board board) {
+            System.arraycopy(board.mailbox, 0, this.mailbox, 0, BoardUtils.NUM_TILES);
+            System.arraycopy(board.pieceBitBoards, 0, this.pieceBitBoards, 0, NUM_BIT_BOARDS);
+            this.occupancy[Alliance.WHITE.ordinal()] = board.whiteOccupancy;
+            this.occupancy[Alliance.BLACK.ordinal()] = board.blackOccupancy;
+            this.middlegameScore = board.middlegameScore;
+            this.endgameScore = board.endgameScore;
+            this.gamePhase = board.gamePhase;
+            return this;
         }
 
         public Builder setMoveMaker(Alliance nextMoveMaker) {
@@ -150,8 +359,46 @@ public class Board {
             return this;
         }
 
+        public Builder setCastlingRights(int castlingRights) {
+            this.castlingRights = castlingRights;
+            return this;
+        }
+
         public Builder setPiece(Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            placePiece(piece.getPiecePosition(), bitBoardIndex(piece.getAlliance(), piece.getPieceType()) + 1);
+            return this;
+        }
+
+        public Builder clearTile(int location) {
+            placePiece(location, 0);
+            return this;
+        }
+
+        //patches everything derived from the tile by taking out its old piece and adding the new one
+        private void placePiece(int location, int code) {
+            final long bit = 1L << location;
+            final int oldIndex = this.mailbox[location] - 1;
+            if(oldIndex >= 0) {
+                this.pieceBitBoards[oldIndex] &= ~bit;
+                this.occupancy[oldIndex / NUM_PIECE_TYPES] &= ~bit;
+                this.middlegameScore -= Evaluator.middlegame(oldIndex, location);
+                this.endgameScore -= Evaluator.endgame(oldIndex, location);
+                this.gamePhase -= Evaluator.phase(oldIndex);
+            }
+            this.mailbox[location] = (byte) code;
+            final int index = code - 1;
+            if(index >= 0) {
+                this.pieceBitBoards[index] |= bit;
+                this.occupancy[index / NUM_PIECE_TYPES] |= bit;
+                this.middlegameScore += Evaluator.middlegame(index, location);
+                this.endgameScore += Evaluator.endgame(index, location);
+                this.gamePhase += Evaluator.phase(index);
+            }
+        }
+
+        public Builder setZobristKey(long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.hasZobristKey = true;
             return this;
         }
 
@@ -176,6 +176,14 @@ public class BoardGUI extends Application{
             rookView.setFitHeight(100);
             pieces.getChildren().add(move.getCastleRookDestination(), rookView);
         }
+
+        if(move.isAttack() && move.getAttackedPiece().getPiecePosition() != move.getDestinationCoordinate()) {
+            int capturedLocation = move.getAttackedPiece().getPiecePosition();
+            pieces.getChildren().remove(capturedLocation);
+            Rectangle capturedRectangle = new Rectangle();
+            capturedRectangle.setVisible(false);
+            pieces.getChildren().add(capturedLocation, capturedRectangle);
+        }
     }
 
     public void highlightSelectedTile(int location) {
@@ -190,7 +198,7 @@ public class BoardGUI extends Application{
 
     public void showLegalMoves(int firstLocation, Board board) {
         if(board.getTile(firstLocation).getPiece().getAlliance() == board.getCurrentPlayer().getAlliance()) {
-            legalMoves = board.getTile(firstLocation).getPiece().calculateLegalMoves(board);
+            legalMoves = board.getCurrentPlayer().getLegalMoves(firstLocation);
             for (Move move : legalMoves) {
                 int destination = move.getDestinationCoordinate();
                 Rectangle rectangle = (Rectangle) tiles.getChildren().get(destination);
@@ -0,0 +1,31 @@
+package chess.engine.board;
+
+import chess.engine.Alliance;
+import chess.engine.pieces.Piece.PieceType;
+
+public interface BoardState {
+
+    long getPieces(Alliance alliance, PieceType pieceType);
+
+    long getOccupancy(Alliance alliance);
+
+    long getOccupancy();
+
+    //Board.bitBoardIndex + 1 of the piece on the tile, 0 when empty
+    int getPieceCode(int location);
+
+    int getCastlingRights();
+
+    //the tile a pawn that just jumped passed over, -1 when there is none
+    int getEnPassantSquare();
+
+    //tiles attacked by the alliance, see BoardUtils.attackedSquares
+    long getAttackedSquares(Alliance attacker);
+
+    //piece-square sums from white's point of view, see Evaluator
+    int getMiddlegameScore();
+
+    int getEndgameScore();
+
+    int getGamePhase();
+}
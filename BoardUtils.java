@@ -1,5 +1,7 @@
 package chess.engine.board;
 
+import chess.engine.Alliance;
+import chess.engine.pieces.Piece.PieceType;
 import javafx.scene.paint.Color;
 
 import java.util.Collections;
@@ -23,6 +25,32 @@ public class BoardUtils {
 
     public static final Color[] TILE_COLORS = initTileColors();
 
+    public static final long[] KNIGHT_ATTACKS = initLeaperAttacks(new int[][] {
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    public static final long[] KING_ATTACKS = initLeaperAttacks(new int[][] {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    //indexed by Alliance ordinal, white pawns capture towards row 0
+    public static final long[][] PAWN_ATTACKS = {
+            initLeaperAttacks(new int[][] {{-1, -1}, {-1, 1}}),
+            initLeaperAttacks(new int[][] {{1, -1}, {1, 1}})};
+
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+    public static final int ALL_CASTLES = 15;
+
+    //castling rights that survive a move touching the tile
+    public static final int[] CASTLING_RIGHTS_MASKS = initCastlingRightsMasks();
+
+    //tiles strictly between two aligned tiles, and the whole line through them
+    public static final long[][] BETWEEN = new long[64][64];
+    public static final long[][] LINE = new long[64][64];
+
+    static {
+        initLines();
+    }
+
     private static Color[] initTileColors() {
         final Color[] colors = new Color[NUM_TILES];
         for(int location = 0; location < 64; location++) {
@@ -78,8 +106,104 @@ public class BoardUtils {
         return row;
     }
 
+    private static long[] initLeaperAttacks(int[][] offsets) {
+        final long[] attacks = new long[NUM_TILES];
+        for(int location = 0; location < NUM_TILES; location++) {
+            final int row = location / NUM_TILES_PER_ROW;
+            final int col = location % NUM_TILES_PER_ROW;
+            for(final int[] offset : offsets) {
+                final int targetRow = row + offset[0];
+                final int targetCol = col + offset[1];
+                if(targetRow >= 0 && targetRow < NUM_TILES_PER_ROW && targetCol >= 0 && targetCol < NUM_TILES_PER_ROW) {
+                    attacks[location] |= 1L << (targetRow * NUM_TILES_PER_ROW + targetCol);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    private static int[] initCastlingRightsMasks() {
+        final int[] masks = new int[NUM_TILES];
+        for(int i = 0; i < NUM_TILES; i++) {
+            masks[i] = ALL_CASTLES;
+        }
+        masks[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        masks[63] &= ~WHITE_KING_SIDE_CASTLE;
+        masks[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        masks[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        masks[7] &= ~BLACK_KING_SIDE_CASTLE;
+        masks[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return masks;
+    }
+
+    private static void initLines() {
+        final int[][] directions = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+        for(int location = 0; location < NUM_TILES; location++) {
+            for(final int[] direction : directions) {
+                final long line = ray(location, direction[0], direction[1]) |
+                        ray(location, -direction[0], -direction[1]) | (1L << location);
+                int row = location / NUM_TILES_PER_ROW + direction[0];
+                int col = location % NUM_TILES_PER_ROW + direction[1];
+                long between = 0L;
+                while(row >= 0 && row < NUM_TILES_PER_ROW && col >= 0 && col < NUM_TILES_PER_ROW) {
+                    final int target = row * NUM_TILES_PER_ROW + col;
+                    BETWEEN[location][target] = between;
+                    LINE[location][target] = line;
+                    between |= 1L << target;
+                    row += direction[0];
+                    col += direction[1];
+                }
+            }
+        }
+    }
+
+    private static long ray(int location, int rowDirection, int colDirection) {
+        long ray = 0L;
+        int row = location / NUM_TILES_PER_ROW + rowDirection;
+        int col = location % NUM_TILES_PER_ROW + colDirection;
+        while(row >= 0 && row < NUM_TILES_PER_ROW && col >= 0 && col < NUM_TILES_PER_ROW) {
+            ray |= 1L << (row * NUM_TILES_PER_ROW + col);
+            row += rowDirection;
+            col += colDirection;
+        }
+        return ray;
+    }
 
     public static boolean isValidTileCoordinate(final int coordinate) {
         return coordinate >= 0 && coordinate < NUM_TILES;
     }
+
+    //every tile the alliance attacks, looking through the defending king so that a king
+    //stepping back along a checking line still counts as attacked
+    public static long attackedSquares(final BoardState boardState, final Alliance attacker) {
+        final Alliance defender = attacker.getOpposite();
+        final long occupancy = boardState.getOccupancy() & ~boardState.getPieces(defender, PieceType.KING);
+        long attacked = 0L;
+        long pieces = boardState.getPieces(attacker, PieceType.PAWN);
+        while(pieces != 0) {
+            attacked |= PAWN_ATTACKS[attacker.ordinal()][Long.numberOfTrailingZeros(pieces)];
+            pieces &= pieces - 1;
+        }
+        pieces = boardState.getPieces(attacker, PieceType.KNIGHT);
+        while(pieces != 0) {
+            attacked |= KNIGHT_ATTACKS[Long.numberOfTrailingZeros(pieces)];
+            pieces &= pieces - 1;
+        }
+        final long queens = boardState.getPieces(attacker, PieceType.QUEEN);
+        pieces = boardState.getPieces(attacker, PieceType.BISHOP) | queens;
+        while(pieces != 0) {
+            attacked |= MagicBitboards.bishopAttacks(Long.numberOfTrailingZeros(pieces), occupancy);
+            pieces &= pieces - 1;
+        }
+        pieces = boardState.getPieces(attacker, PieceType.ROOK) | queens;
+        while(pieces != 0) {
+            attacked |= MagicBitboards.rookAttacks(Long.numberOfTrailingZeros(pieces), occupancy);
+            pieces &= pieces - 1;
+        }
+        final long king = boardState.getPieces(attacker, PieceType.KING);
+        if(king != 0) {
+            attacked |= KING_ATTACKS[Long.numberOfTrailingZeros(king)];
+        }
+        return attacked;
+    }
 }
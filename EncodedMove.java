@@ -0,0 +1,131 @@
+package chess.engine.move;
+
+import chess.engine.board.FenUtilities;
+import chess.engine.move.Move.PawnEnPassantAttackMove;
+import chess.engine.move.Move.PawnJump;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.Piece.PieceType;
+
+public class EncodedMove {
+
+    //current coordinate | destination << 6 | promotion << 12 | captured << 15 | moved << 18 | flag << 21
+    //piece types are stored as ordinal + 1 so that 0 means none
+    public static final int NONE = 0;
+
+    public static final int NORMAL = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int KING_SIDE_CASTLE = 3;
+    public static final int QUEEN_SIDE_CASTLE = 4;
+
+    //the low bits are the same packed move the transposition table stores
+    public static final int PACKED_MOVE_MASK = 0x7FFF;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private EncodedMove() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static int encode(final int currentCoordinate,
+                             final int destinationCoordinate,
+                             final int movedType,
+                             final int capturedType,
+                             final int promotionType,
+                             final int flag) {
+        return currentCoordinate |
+                (destinationCoordinate << 6) |
+                (promotionType << 12) |
+                (capturedType << 15) |
+                (movedType << 18) |
+                (flag << 21);
+    }
+
+    public static int encode(final Move move) {
+        final int flag;
+        if(move instanceof PawnJump) {
+            flag = PAWN_JUMP;
+        } else if(move instanceof PawnEnPassantAttackMove) {
+            flag = EN_PASSANT;
+        } else if(move.isCastlingMove()) {
+            flag = move.getDestinationCoordinate() > move.getCurrentCoordinate() ? KING_SIDE_CASTLE : QUEEN_SIDE_CASTLE;
+        } else {
+            flag = NORMAL;
+        }
+        return encode(move.getCurrentCoordinate(),
+                      move.getDestinationCoordinate(),
+                      typeCode(move.getMovedPiece().getPieceType()),
+                      move.isAttack() ? typeCode(move.getAttackedPiece().getPieceType()) : NONE,
+                      typeCode(move.getPromotionType()),
+                      flag);
+    }
+
+    public static int typeCode(final PieceType pieceType) {
+        return pieceType == null ? NONE : pieceType.ordinal() + 1;
+    }
+
+    public static int typeCode(final Piece piece) {
+        return piece == null ? NONE : piece.getPieceType().ordinal() + 1;
+    }
+
+    public static int getCurrentCoordinate(final int move) {
+        return move & 63;
+    }
+
+    public static int getDestinationCoordinate(final int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static int getPromotion(final int move) {
+        return (move >>> 12) & 7;
+    }
+
+    public static int getCaptured(final int move) {
+        return (move >>> 15) & 7;
+    }
+
+    public static int getMoved(final int move) {
+        return (move >>> 18) & 7;
+    }
+
+    public static int getFlag(final int move) {
+        return (move >>> 21) & 7;
+    }
+
+    public static PieceType getPromotionType(final int move) {
+        return toPieceType(getPromotion(move));
+    }
+
+    public static PieceType getCapturedType(final int move) {
+        return toPieceType(getCaptured(move));
+    }
+
+    public static PieceType getMovedType(final int move) {
+        return toPieceType(getMoved(move));
+    }
+
+    public static boolean isAttack(final int move) {
+        return getCaptured(move) != NONE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return getPromotion(move) != NONE;
+    }
+
+    public static boolean isCastlingMove(final int move) {
+        final int flag = getFlag(move);
+        return flag == KING_SIDE_CASTLE || flag == QUEEN_SIDE_CASTLE;
+    }
+
+    //long algebraic notation as used by UCI, for example e2e4 or e7e8q
+    public static String toUciString(final Move move) {
+        final PieceType promotionType = move.getPromotionType();
+        return FenUtilities.getPositionAtCoordinate(move.getCurrentCoordinate()) +
+                FenUtilities.getPositionAtCoordinate(move.getDestinationCoordinate()) +
+                (promotionType == null ? "" : promotionType.toString().toLowerCase());
+    }
+
+    private static PieceType toPieceType(final int typeCode) {
+        return typeCode == NONE ? null : PIECE_TYPES[typeCode - 1];
+    }
+}
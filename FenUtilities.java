@@ -0,0 +1,159 @@
+package chess.engine.board;
+
+import chess.engine.Alliance;
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.Piece.PieceType;
+
+public class FenUtilities {
+
+    public static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private FenUtilities() {
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static Board createBoardFromFen(final String fen) {
+        final String[] fields = fen.trim().split("\\s+");
+        if(fields.length < 4) {
+            throw new RuntimeException("Invalid FEN: " + fen);
+        }
+        final Piece[] pieces = new Piece[BoardUtils.NUM_TILES];
+        int location = 0;
+        for(final char c : fields[0].toCharArray()) {
+            if(c == '/') {
+                continue;
+            }
+            if(Character.isDigit(c)) {
+                location += c - '0';
+                continue;
+            }
+            if(location >= BoardUtils.NUM_TILES) {
+                throw new RuntimeException("Invalid FEN: " + fen);
+            }
+            final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+            pieces[location] = Piece.createPiece(pieceTypeOf(c), location, alliance);
+            location++;
+        }
+
+        final Board.Builder builder = new Board.Builder();
+        for(final Piece piece : pieces) {
+            if(piece != null) {
+                builder.setPiece(piece);
+            }
+        }
+        final Alliance moveMaker = fields[1].equals("b") ? Alliance.BLACK : Alliance.WHITE;
+        builder.setMoveMaker(moveMaker);
+        builder.setCastlingRights(parseCastlingRights(fields[2]));
+        if(!fields[3].equals("-")) {
+            final int target = getCoordinateAtPosition(fields[3]);
+            //the pawn that just jumped sits one row past the target from the mover's point of view
+            final Piece pawn = pieces[target - moveMaker.getDirection() * BoardUtils.NUM_TILES_PER_ROW];
+            if(pawn != null && pawn.getPieceType() == PieceType.PAWN) {
+                builder.setEnPassantPawn((Pawn) pawn);
+            }
+        }
+        return builder.build();
+    }
+
+    public static String createFenFromBoard(final Board board) {
+        final StringBuilder fen = new StringBuilder();
+        for(int row = 0; row < BoardUtils.NUM_TILES_PER_ROW; row++) {
+            int empty = 0;
+            for(int col = 0; col < BoardUtils.NUM_TILES_PER_ROW; col++) {
+                final Piece piece = board.getPiece(row * BoardUtils.NUM_TILES_PER_ROW + col);
+                if(piece == null) {
+                    empty++;
+                    continue;
+                }
+                if(empty > 0) {
+                    fen.append(empty);
+                    empty = 0;
+                }
+                final String name = piece.getPieceType().toString();
+                fen.append(piece.getAlliance().isWhite() ? name : name.toLowerCase());
+            }
+            if(empty > 0) {
+                fen.append(empty);
+            }
+            if(row < BoardUtils.NUM_TILES_PER_ROW - 1) {
+                fen.append('/');
+            }
+        }
+        fen.append(board.getCurrentPlayer().getAlliance().isWhite() ? " w " : " b ");
+        final int castlingRights = board.getCastlingRights();
+        if(castlingRights == 0) {
+            fen.append('-');
+        } else {
+            if((castlingRights & BoardUtils.WHITE_KING_SIDE_CASTLE) != 0) {
+                fen.append('K');
+            }
+            if((castlingRights & BoardUtils.WHITE_QUEEN_SIDE_CASTLE) != 0) {
+                fen.append('Q');
+            }
+            if((castlingRights & BoardUtils.BLACK_KING_SIDE_CASTLE) != 0) {
+                fen.append('k');
+            }
+            if((castlingRights & BoardUtils.BLACK_QUEEN_SIDE_CASTLE) != 0) {
+                fen.append('q');
+            }
+        }
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if(enPassantPawn == null) {
+            fen.append(" -");
+        } else {
+            fen.append(' ').append(getPositionAtCoordinate(enPassantPawn.getPiecePosition() -
+                    enPassantPawn.getAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW));
+        }
+        return fen.append(" 0 1").toString();
+    }
+
+    public static String getPositionAtCoordinate(final int coordinate) {
+        final char file = (char) ('a' + coordinate % BoardUtils.NUM_TILES_PER_ROW);
+        final int rank = BoardUtils.NUM_TILES_PER_ROW - coordinate / BoardUtils.NUM_TILES_PER_ROW;
+        return "" + file + rank;
+    }
+
+    public static int getCoordinateAtPosition(final String position) {
+        final int col = position.charAt(0) - 'a';
+        final int row = BoardUtils.NUM_TILES_PER_ROW - (position.charAt(1) - '0');
+        return row * BoardUtils.NUM_TILES_PER_ROW + col;
+    }
+
+    //rights whose king or rook is missing are dropped by the board itself
+    private static int parseCastlingRights(final String castling) {
+        int castlingRights = 0;
+        if(castling.indexOf('K') >= 0) {
+            castlingRights |= BoardUtils.WHITE_KING_SIDE_CASTLE;
+        }
+        if(castling.indexOf('Q') >= 0) {
+            castlingRights |= BoardUtils.WHITE_QUEEN_SIDE_CASTLE;
+        }
+        if(castling.indexOf('k') >= 0) {
+            castlingRights |= BoardUtils.BLACK_KING_SIDE_CASTLE;
+        }
+        if(castling.indexOf('q') >= 0) {
+            castlingRights |= BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+        }
+        return castlingRights;
+    }
+
+    private static PieceType pieceTypeOf(final char c) {
+        switch(Character.toLowerCase(c)) {
+            case 'p':
+                return PieceType.PAWN;
+            case 'n':
+                return PieceType.KNIGHT;
+            case 'b':
+                return PieceType.BISHOP;
+            case 'r':
+                return PieceType.ROOK;
+            case 'q':
+                return PieceType.QUEEN;
+            case 'k':
+                return PieceType.KING;
+            default:
+                throw new RuntimeException("Invalid FEN piece: " + c);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package chess.engine.search;
+
+import chess.engine.board.Board;
+import chess.engine.move.Move;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class LazySmpSearch {
+
+    private static final int DEFAULT_HASH_SIZE = 256;
+
+    private final TranspositionTable transpositionTable;
+    private final AtomicBoolean stopSignal;
+    //index 0 is the main search, the rest are helpers that only feed the shared table
+    private final Search[] searches;
+
+    public LazySmpSearch(final int threadCount) {
+        this(threadCount, new TranspositionTable(DEFAULT_HASH_SIZE));
+    }
+
+    public LazySmpSearch(final int threadCount, final TranspositionTable transpositionTable) {
+        if(threadCount < 1) {
+            throw new RuntimeException("Thread count must be positive: " + threadCount);
+        }
+        this.transpositionTable = transpositionTable;
+        this.stopSignal = new AtomicBoolean();
+        this.searches = new Search[threadCount];
+        for(int i = 0; i < threadCount; i++) {
+            this.searches[i] = new Search(transpositionTable, this.stopSignal);
+        }
+    }
+
+    public Move findBestMove(final Board board, final long timeLimitMillis) {
+        return findBestMove(board, Search.MAX_PLY - 1, timeLimitMillis);
+    }
+
+    public Move findBestMove(final Board board, final int maxDepth, final long timeLimitMillis) {
+        final long deadline = System.nanoTime() + timeLimitMillis * 1000000L;
+        this.stopSignal.set(false);
+        this.transpositionTable.newSearch();
+        final Thread[] helpers = new Thread[this.searches.length - 1];
+        for(int i = 0; i < helpers.length; i++) {
+            final Search helper = this.searches[i + 1];
+            //odd helpers run one ply ahead so the threads spread over two depths
+            final int startDepth = 1 + (i + 1) % 2;
+            helpers[i] = new Thread(() -> helper.iterate(board, startDepth, maxDepth, deadline, false), "lazy-smp-helper-" + (i + 1));
+            helpers[i].setDaemon(true);
+            helpers[i].start();
+        }
+        final Search main = this.searches[0];
+        main.iterate(board, 1, maxDepth, deadline, true);
+        this.stopSignal.set(true);
+        for(final Thread helper : helpers) {
+            try {
+                helper.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return main.getBestMove(board);
+    }
+
+    public int getScore() {
+        return this.searches[0].getScore();
+    }
+
+    public int getCompletedDepth() {
+        return this.searches[0].getCompletedDepth();
+    }
+
+    public long getNodes() {
+        long nodes = 0;
+        for(final Search search : this.searches) {
+            nodes += search.getNodes();
+        }
+        return nodes;
+    }
+
+    public int getThreadCount() {
+        return this.searches.length;
+    }
+
+    public List<Move> getPrincipalVariation(final Board board) {
+        return this.searches[0].getPrincipalVariation(board);
+    }
+}
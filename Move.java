@@ -2,12 +2,17 @@ package chess.engine.move;
 
 import chess.engine.board.Board;
 import chess.engine.board.Board.Builder;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.Zobrist;
 import chess.engine.pieces.Pawn;
 import chess.engine.pieces.Piece;
 import chess.engine.pieces.Piece.PieceType;
 import chess.engine.pieces.Rook;
 
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public abstract class Move {
 
@@ -66,6 +71,10 @@ public abstract class Move {
         return this.piece;
     }
 
+    public Board getBoard() {
+        return this.board;
+    }
+
     public Piece getAttackedPiece() {
         return null;
     }
@@ -82,22 +91,39 @@ public abstract class Move {
         return false;
     }
 
+    public PieceType getPromotionType() {
+        return null;
+    }
+
     public Board execute() {
-        final Builder builder = new Builder();
-        for(final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-            if(!this.piece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-        for(final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
-        builder.setPiece(this.piece.movePiece(this));
-        this.getMovedPiece().setHasMoved(true);
+        final Builder builder = new Builder(this.board);
+        builder.clearTile(getCurrentCoordinate());
+        final Piece movedPiece = this.piece.movePiece(this);
+        builder.setPiece(movedPiece);
         builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+        builder.setCastlingRights(calculateCastlingRights());
+        builder.setZobristKey(calculateZobristKey(movedPiece));
         return builder.build();
     }
 
+    //moving from or onto a king or rook starting tile gives up the rights that depend on it
+    protected int calculateCastlingRights() {
+        return this.board.getCastlingRights() &
+                BoardUtils.CASTLING_RIGHTS_MASKS[getCurrentCoordinate()] &
+                BoardUtils.CASTLING_RIGHTS_MASKS[this.endPosition];
+    }
+
+    protected long calculateZobristKey(final Piece placedPiece) {
+        final int currentCoordinate = getCurrentCoordinate();
+        return this.board.getZobristKey() ^
+                Zobrist.piece(this.piece, currentCoordinate) ^
+                Zobrist.piece(placedPiece, this.endPosition) ^
+                Zobrist.castling(this.board.getCastlingRights()) ^
+                Zobrist.castling(calculateCastlingRights()) ^
+                Zobrist.enPassant(this.board.getEnPassantPawn()) ^
+                Zobrist.SIDE;
+    }
+
     public int getMoveDirection() {
         int[] bishopDirections = {7, 9};
         int[] knightDirections = {6, 10, 15, 17};
@@ -164,20 +190,15 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            for(final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if(!this.piece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for(final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                if(!this.pieceAtLocation.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            builder.setPiece(this.piece.movePiece(this));
-            this.getMovedPiece().setHasMoved(true);
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            builder.clearTile(this.pieceAtLocation.getPiecePosition());
+            final Piece movedPiece = this.piece.movePiece(this);
+            builder.setPiece(movedPiece);
             builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+            builder.setCastlingRights(calculateCastlingRights());
+            builder.setZobristKey(calculateZobristKey(movedPiece) ^
+                    Zobrist.piece(this.pieceAtLocation, this.pieceAtLocation.getPiecePosition()));
             return builder.build();
         }
 
@@ -223,6 +244,74 @@ public abstract class Move {
         }
     }
 
+    public static final class PawnEnPassantAttackMove extends PawnAttackMove {
+
+        public PawnEnPassantAttackMove(Board board, Piece piece, int endPosition, Piece pieceAtLocation) {
+            super(board, piece, endPosition, pieceAtLocation);
+        }
+    }
+
+    public static class PawnPromotion extends Move {
+
+        private final Move decoratedMove;
+        private final PieceType promotionType;
+
+        public PawnPromotion(final Move decoratedMove, final PieceType promotionType) {
+            super(decoratedMove.board, decoratedMove.getMovedPiece(), decoratedMove.getDestinationCoordinate());
+            this.decoratedMove = decoratedMove;
+            this.promotionType = promotionType;
+        }
+
+        @Override
+        public Board execute() {
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            final Piece promotedPiece = Piece.createPiece(this.promotionType, this.endPosition, this.piece.getAlliance());
+            builder.setPiece(promotedPiece);
+            builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+            builder.setCastlingRights(calculateCastlingRights());
+            long zobristKey = calculateZobristKey(promotedPiece);
+            if(isAttack()) {
+                zobristKey ^= Zobrist.piece(getAttackedPiece(), getAttackedPiece().getPiecePosition());
+            }
+            builder.setZobristKey(zobristKey);
+            return builder.build();
+        }
+
+        @Override
+        public boolean isAttack() {
+            return this.decoratedMove.isAttack();
+        }
+
+        @Override
+        public Piece getAttackedPiece() {
+            return this.decoratedMove.getAttackedPiece();
+        }
+
+        @Override
+        public PieceType getPromotionType() {
+            return this.promotionType;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.decoratedMove.hashCode() + 31 * this.promotionType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if(this == other) {
+                return true;
+            }
+            if(!(other instanceof PawnPromotion)) {
+                return false;
+            }
+            final PawnPromotion otherPromotion = (PawnPromotion) other;
+            return this.decoratedMove.equals(otherPromotion.decoratedMove) &&
+                    this.promotionType == otherPromotion.promotionType;
+        }
+    }
+
     public static class PawnJump extends Move {
 
         public PawnJump(Board board, Piece piece, int endPosition) {
@@ -231,20 +320,14 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            for(Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if(!this.piece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for(Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
             final Pawn movedPawn = (Pawn) this.piece.movePiece(this);
-            movedPawn.setHasMoved(true);
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+            builder.setCastlingRights(calculateCastlingRights());
+            builder.setZobristKey(calculateZobristKey(movedPawn) ^ Zobrist.enPassant(movedPawn));
             return builder.build();
         }
     }
@@ -288,20 +371,18 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if (!this.piece.equals(piece) && !this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
-            this.getCastleRook().setHasMoved(true);
-            this.getMovedPiece().setHasMoved(true);
-            builder.setPiece(this.piece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getAlliance()));
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            builder.clearTile(this.castleRookStart);
+            final Piece movedKing = this.piece.movePiece(this);
+            builder.setPiece(movedKing);
+            final Piece movedRook = Piece.of(PieceType.ROOK, this.castleRook.getAlliance(), this.castleRookDestination);
+            builder.setPiece(movedRook);
             builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+            builder.setCastlingRights(calculateCastlingRights());
+            builder.setZobristKey(calculateZobristKey(movedKing) ^
+                    Zobrist.piece(this.castleRook, this.castleRookStart) ^
+                    Zobrist.piece(movedRook, this.castleRookDestination));
             return builder.build();
         }
     }
@@ -359,13 +440,91 @@ public abstract class Move {
         }
 
         public static Move createMove(Board board, int currentPosition, int destinationPosition) {
-            for(final Move move : board.getTile(currentPosition).getPiece().calculateLegalMoves(board)) {
-                if(move.getCurrentCoordinate() == currentPosition &&
-                        move.getDestinationCoordinate() == destinationPosition) {
-                    return move;
-                }
+            Move move = createMove(board, currentPosition, destinationPosition, null);
+            //a promotion picked without a piece type becomes a queen
+            if(move == NULL_MOVE) {
+                move = createMove(board, currentPosition, destinationPosition, PieceType.QUEEN);
             }
-            return NULL_MOVE;
+            return move != NULL_MOVE ? move : createPseudoLegalMove(board, currentPosition, destinationPosition);
+        }
+
+        //a move the piece could make but that leaves its own king attacked, so makeMove can tell why it refuses it
+        private static Move createPseudoLegalMove(Board board, int currentPosition, int destinationPosition) {
+            if(!BoardUtils.isValidTileCoordinate(currentPosition) || !BoardUtils.isValidTileCoordinate(destinationPosition)) {
+                return NULL_MOVE;
+            }
+            final Piece piece = board.getPiece(currentPosition);
+            if(piece == null) {
+                return NULL_MOVE;
+            }
+            final int distance = destinationPosition - currentPosition;
+            final boolean pawn = piece.getPieceType() == PieceType.PAWN;
+            final int flag;
+            if(pawn && Math.abs(distance) == 2 * BoardUtils.NUM_TILES_PER_ROW) {
+                flag = EncodedMove.PAWN_JUMP;
+            } else if(pawn && destinationPosition == board.getEnPassantSquare() && distance % BoardUtils.NUM_TILES_PER_ROW != 0) {
+                flag = EncodedMove.EN_PASSANT;
+            } else if(piece.getPieceType() == PieceType.KING && Math.abs(distance) == 2) {
+                flag = distance > 0 ? EncodedMove.KING_SIDE_CASTLE : EncodedMove.QUEEN_SIDE_CASTLE;
+            } else {
+                flag = EncodedMove.NORMAL;
+            }
+            final boolean promotion = pawn && (BoardUtils.FIRST_ROW[destinationPosition] || BoardUtils.EIGHTH_ROW[destinationPosition]);
+            final int encodedMove = EncodedMove.encode(currentPosition,
+                                                       destinationPosition,
+                                                       EncodedMove.typeCode(piece),
+                                                       flag == EncodedMove.EN_PASSANT ? EncodedMove.typeCode(PieceType.PAWN) :
+                                                               EncodedMove.typeCode(board.getPiece(destinationPosition)),
+                                                       promotion ? EncodedMove.typeCode(PieceType.QUEEN) : EncodedMove.NONE,
+                                                       flag);
+            return MoveGenerator.isPseudoLegal(board, piece.getAlliance(), encodedMove) ? createMove(board, encodedMove) : NULL_MOVE;
+        }
+
+        public static Move createMove(Board board, int currentPosition, int destinationPosition, PieceType promotionType) {
+            if(!BoardUtils.isValidTileCoordinate(currentPosition)) {
+                return NULL_MOVE;
+            }
+            final Piece piece = board.getPiece(currentPosition);
+            if(piece == null) {
+                return NULL_MOVE;
+            }
+            return board.getPlayer(piece.getAlliance()).getLegalMove(currentPosition, destinationPosition, promotionType);
+        }
+
+        //builds the move object for an encoded move that was generated on this board
+        public static Move createMove(final Board board, final int encodedMove) {
+            final int currentPosition = EncodedMove.getCurrentCoordinate(encodedMove);
+            final int destinationPosition = EncodedMove.getDestinationCoordinate(encodedMove);
+            final Piece piece = board.getPiece(currentPosition);
+            switch(EncodedMove.getFlag(encodedMove)) {
+                case EncodedMove.PAWN_JUMP:
+                    return new PawnJump(board, piece, destinationPosition);
+                case EncodedMove.EN_PASSANT:
+                    return new PawnEnPassantAttackMove(board, piece, destinationPosition, board.getEnPassantPawn());
+                case EncodedMove.KING_SIDE_CASTLE:
+                    return new KingSideCastleMove(board, piece, destinationPosition,
+                            (Rook) board.getPiece(destinationPosition + 1), destinationPosition + 1, destinationPosition - 1);
+                case EncodedMove.QUEEN_SIDE_CASTLE:
+                    return new QueenSideCastleMove(board, piece, destinationPosition,
+                            (Rook) board.getPiece(destinationPosition - 2), destinationPosition - 2, destinationPosition + 1);
+            }
+            final Piece pieceAtDestination = board.getPiece(destinationPosition);
+            if(piece.getPieceType() != PieceType.PAWN) {
+                return pieceAtDestination == null ? new StandardMove(board, piece, destinationPosition) :
+                        new CaptureMove(board, piece, destinationPosition, pieceAtDestination);
+            }
+            final Move pawnMove = pieceAtDestination == null ? new PawnMove(board, piece, destinationPosition) :
+                    new PawnAttackMove(board, piece, destinationPosition, pieceAtDestination);
+            final PieceType promotionType = EncodedMove.getPromotionType(encodedMove);
+            return promotionType == null ? pawnMove : new PawnPromotion(pawnMove, promotionType);
+        }
+
+        public static List<Move> createMoves(final Board board, final MoveList encodedMoves) {
+            final List<Move> moves = new ArrayList<>(encodedMoves.size());
+            for(int i = 0; i < encodedMoves.size(); i++) {
+                moves.add(createMove(board, encodedMoves.get(i)));
+            }
+            return Collections.unmodifiableList(moves);
         }
 
         public static Move getNullMove() {
@@ -0,0 +1,401 @@
+package chess.engine.move;
+
+import chess.engine.Alliance;
+import chess.engine.board.BoardState;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.MagicBitboards;
+import chess.engine.pieces.Piece.PieceType;
+
+public class MoveGenerator {
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int PAWN = EncodedMove.typeCode(PieceType.PAWN);
+    private static final int KING = EncodedMove.typeCode(PieceType.KING);
+    private static final int[] PROMOTION_TYPES = {
+            EncodedMove.typeCode(PieceType.QUEEN),
+            EncodedMove.typeCode(PieceType.ROOK),
+            EncodedMove.typeCode(PieceType.BISHOP),
+            EncodedMove.typeCode(PieceType.KNIGHT)
+    };
+
+    private final BoardState boardState;
+    private final Alliance alliance;
+    private final int kingPosition;
+    private final long ownPieces;
+    private final long enemyPieces;
+    private final long occupancy;
+    private final long checkers;
+    private final long checkMask;
+    private final long pinned;
+
+    public MoveGenerator(final BoardState boardState, final Alliance alliance) {
+        this.boardState = boardState;
+        this.alliance = alliance;
+        this.kingPosition = Long.numberOfTrailingZeros(boardState.getPieces(alliance, PieceType.KING));
+        this.ownPieces = boardState.getOccupancy(alliance);
+        this.enemyPieces = boardState.getOccupancy(alliance.getOpposite());
+        this.occupancy = this.ownPieces | this.enemyPieces;
+
+        final Alliance opponent = alliance.getOpposite();
+        final long queens = boardState.getPieces(opponent, PieceType.QUEEN);
+        long checkers = (BoardUtils.PAWN_ATTACKS[alliance.ordinal()][this.kingPosition] & boardState.getPieces(opponent, PieceType.PAWN)) |
+                (BoardUtils.KNIGHT_ATTACKS[this.kingPosition] & boardState.getPieces(opponent, PieceType.KNIGHT));
+        long pinned = 0L;
+        //sliders that would see the king on an empty board either check it or pin the single piece in between
+        long snipers = (MagicBitboards.rookAttacks(this.kingPosition, 0L) & (boardState.getPieces(opponent, PieceType.ROOK) | queens)) |
+                (MagicBitboards.bishopAttacks(this.kingPosition, 0L) & (boardState.getPieces(opponent, PieceType.BISHOP) | queens));
+        while(snipers != 0) {
+            final int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            final long blockers = BoardUtils.BETWEEN[this.kingPosition][sniper] & this.occupancy;
+            if(blockers == 0) {
+                checkers |= 1L << sniper;
+            } else if((blockers & (blockers - 1)) == 0 && (blockers & this.ownPieces) != 0) {
+                pinned |= blockers;
+            }
+        }
+        this.checkers = checkers;
+        this.pinned = pinned;
+        if(checkers == 0) {
+            this.checkMask = ~0L;
+        } else if((checkers & (checkers - 1)) == 0) {
+            this.checkMask = checkers | BoardUtils.BETWEEN[this.kingPosition][Long.numberOfTrailingZeros(checkers)];
+        } else {
+            //double check, only the king may move
+            this.checkMask = 0L;
+        }
+    }
+
+    public boolean isInCheck() {
+        return this.checkers != 0;
+    }
+
+    //appends every legal move of the alliance to the list
+    public void generateLegalMoves(final MoveList legalMoves) {
+        long pieces = this.ownPieces;
+        while(pieces != 0) {
+            addLegalMoves(Long.numberOfTrailingZeros(pieces), legalMoves, false);
+            pieces &= pieces - 1;
+        }
+    }
+
+    //appends the legal moves of the piece on the given tile to the list
+    public void generateLegalMoves(final int position, final MoveList legalMoves) {
+        if((this.ownPieces & (1L << position)) != 0) {
+            addLegalMoves(position, legalMoves, false);
+        }
+    }
+
+    //appends only the legal captures, en passant included, and queen promotions
+    public void generateCaptures(final MoveList captures) {
+        long pieces = this.ownPieces;
+        while(pieces != 0) {
+            addLegalMoves(Long.numberOfTrailingZeros(pieces), captures, true);
+            pieces &= pieces - 1;
+        }
+    }
+
+    //tests one encoded move of the alliance directly, without generating any other move
+    public static boolean isLegal(final BoardState boardState, final Alliance alliance, final int move) {
+        return isPseudoLegal(boardState, alliance, move) && keepsKingSafe(boardState, alliance, move);
+    }
+
+    //whether the piece can make the move at all, leaving aside what it does to its own king
+    public static boolean isPseudoLegal(final BoardState boardState, final Alliance alliance, final int move) {
+        final int from = EncodedMove.getCurrentCoordinate(move);
+        final int to = EncodedMove.getDestinationCoordinate(move);
+        final int flag = EncodedMove.getFlag(move);
+        final int promotion = EncodedMove.getPromotion(move);
+        final Alliance opponent = alliance.getOpposite();
+        final long ownPieces = boardState.getOccupancy(alliance);
+        final long enemyPieces = boardState.getOccupancy(opponent);
+        final long occupancy = ownPieces | enemyPieces;
+        final long destination = 1L << to;
+        final int movedType = typeAt(boardState, from);
+        if(from == to || (ownPieces & (1L << from)) == 0 || (ownPieces & destination) != 0 ||
+                movedType != EncodedMove.getMoved(move) ||
+                EncodedMove.getCaptured(move) != (flag == EncodedMove.EN_PASSANT ? PAWN : typeAt(boardState, to))) {
+            return false;
+        }
+        if(movedType == KING) {
+            if(flag == EncodedMove.KING_SIDE_CASTLE || flag == EncodedMove.QUEEN_SIDE_CASTLE) {
+                final int home = alliance.isWhite() ? 60 : 4;
+                final boolean kingSide = flag == EncodedMove.KING_SIDE_CASTLE;
+                return from == home && to == (kingSide ? home + 2 : home - 2) && promotion == EncodedMove.NONE &&
+                        canCastle(boardState, alliance, occupancy, 0L, kingSide);
+            }
+            return flag == EncodedMove.NORMAL && promotion == EncodedMove.NONE && (BoardUtils.KING_ATTACKS[from] & destination) != 0;
+        }
+        final long reachable;
+        if(movedType == PAWN) {
+            final int forward = alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+            final boolean lastRow = BoardUtils.FIRST_ROW[to] || BoardUtils.EIGHTH_ROW[to];
+            if(flag == EncodedMove.EN_PASSANT) {
+                return to == boardState.getEnPassantSquare() && promotion == EncodedMove.NONE &&
+                        (BoardUtils.PAWN_ATTACKS[alliance.ordinal()][from] & destination) != 0 &&
+                        (boardState.getPieces(opponent, PieceType.PAWN) & (1L << (to - forward))) != 0;
+            }
+            if(flag == EncodedMove.PAWN_JUMP) {
+                final boolean startRow = alliance.isWhite() ? BoardUtils.SEVENTH_ROW[from] : BoardUtils.SECOND_ROW[from];
+                reachable = startRow && to == from + 2 * forward && promotion == EncodedMove.NONE &&
+                        (occupancy & ((1L << (from + forward)) | destination)) == 0 ? destination : 0L;
+            } else if(flag != EncodedMove.NORMAL || lastRow != isPromotionType(promotion)) {
+                return false;
+            } else if(to == from + forward) {
+                reachable = (occupancy & destination) == 0 ? destination : 0L;
+            } else {
+                reachable = BoardUtils.PAWN_ATTACKS[alliance.ordinal()][from] & enemyPieces;
+            }
+        } else {
+            if(flag != EncodedMove.NORMAL || promotion != EncodedMove.NONE) {
+                return false;
+            }
+            reachable = pieceAttacks(movedType, from, occupancy);
+        }
+        return (reachable & destination) != 0;
+    }
+
+    //for a pseudo legal move: the destination has to be on the pin line when the piece is pinned
+    //and inside the check mask when the king is in check, a king may not step onto an attacked tile
+    public static boolean keepsKingSafe(final BoardState boardState, final Alliance alliance, final int move) {
+        final int from = EncodedMove.getCurrentCoordinate(move);
+        final int to = EncodedMove.getDestinationCoordinate(move);
+        final int flag = EncodedMove.getFlag(move);
+        final Alliance opponent = alliance.getOpposite();
+        final long occupancy = boardState.getOccupancy();
+        final long destination = 1L << to;
+        final int kingPosition = Long.numberOfTrailingZeros(boardState.getPieces(alliance, PieceType.KING));
+        if(from == kingPosition) {
+            final long attacked = boardState.getAttackedSquares(opponent);
+            if(flag == EncodedMove.KING_SIDE_CASTLE || flag == EncodedMove.QUEEN_SIDE_CASTLE) {
+                return (attacked & (1L << from)) == 0 &&
+                        canCastle(boardState, alliance, occupancy, attacked, flag == EncodedMove.KING_SIDE_CASTLE);
+            }
+            return (attacked & destination) == 0;
+        }
+        if(flag == EncodedMove.EN_PASSANT) {
+            return isEnPassantLegal(boardState, alliance, kingPosition, occupancy, from, to,
+                                    to - alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+        }
+        final long queens = boardState.getPieces(opponent, PieceType.QUEEN);
+        final long rookSliders = boardState.getPieces(opponent, PieceType.ROOK) | queens;
+        final long bishopSliders = boardState.getPieces(opponent, PieceType.BISHOP) | queens;
+        final long checkers = (BoardUtils.PAWN_ATTACKS[alliance.ordinal()][kingPosition] & boardState.getPieces(opponent, PieceType.PAWN)) |
+                (BoardUtils.KNIGHT_ATTACKS[kingPosition] & boardState.getPieces(opponent, PieceType.KNIGHT)) |
+                (MagicBitboards.rookAttacks(kingPosition, occupancy) & rookSliders) |
+                (MagicBitboards.bishopAttacks(kingPosition, occupancy) & bishopSliders);
+        if(checkers != 0) {
+            if((checkers & (checkers - 1)) != 0) {
+                return false;
+            }
+            final long checkMask = checkers | BoardUtils.BETWEEN[kingPosition][Long.numberOfTrailingZeros(checkers)];
+            if((checkMask & destination) == 0) {
+                return false;
+            }
+        }
+        //sliders that only see the king once the piece is lifted pin it to their line
+        final long occupancyWithout = occupancy ^ (1L << from);
+        final long pinners = ((MagicBitboards.rookAttacks(kingPosition, occupancyWithout) & rookSliders) |
+                (MagicBitboards.bishopAttacks(kingPosition, occupancyWithout) & bishopSliders)) & ~checkers;
+        return pinners == 0 || (BoardUtils.LINE[kingPosition][from] & destination) != 0;
+    }
+
+    private static boolean isPromotionType(final int promotion) {
+        for(final int promotionType : PROMOTION_TYPES) {
+            if(promotion == promotionType) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long pieceAttacks(final int movedType, final int position, final long occupancy) {
+        switch(PIECE_TYPES[movedType - 1]) {
+            case KNIGHT:
+                return BoardUtils.KNIGHT_ATTACKS[position];
+            case BISHOP:
+                return MagicBitboards.bishopAttacks(position, occupancy);
+            case ROOK:
+                return MagicBitboards.rookAttacks(position, occupancy);
+            case QUEEN:
+                return MagicBitboards.queenAttacks(position, occupancy);
+            default:
+                return 0L;
+        }
+    }
+
+    private void addLegalMoves(final int position, final MoveList legalMoves, final boolean capturesOnly) {
+        final int movedType = typeAt(position);
+        final long targets = capturesOnly ? this.enemyPieces : ~0L;
+        switch(PIECE_TYPES[movedType - 1]) {
+            case PAWN:
+                addPawnMoves(position, legalMoves, capturesOnly);
+                break;
+            case KNIGHT:
+                addMoves(position, movedType, BoardUtils.KNIGHT_ATTACKS[position] & legalDestinations(position) & targets, legalMoves);
+                break;
+            case BISHOP:
+                addMoves(position, movedType, MagicBitboards.bishopAttacks(position, this.occupancy) & legalDestinations(position) & targets, legalMoves);
+                break;
+            case ROOK:
+                addMoves(position, movedType, MagicBitboards.rookAttacks(position, this.occupancy) & legalDestinations(position) & targets, legalMoves);
+                break;
+            case QUEEN:
+                addMoves(position, movedType, MagicBitboards.queenAttacks(position, this.occupancy) & legalDestinations(position) & targets, legalMoves);
+                break;
+            case KING:
+                addKingMoves(position, legalMoves, capturesOnly);
+                break;
+        }
+    }
+
+    private int typeAt(final int location) {
+        return typeAt(this.boardState, location);
+    }
+
+    private static int typeAt(final BoardState boardState, final int location) {
+        final int code = boardState.getPieceCode(location);
+        return code == 0 ? EncodedMove.NONE : (code - 1) % PIECE_TYPES.length + 1;
+    }
+
+    private long legalDestinations(final int position) {
+        long destinations = ~this.ownPieces & this.checkMask;
+        if((this.pinned & (1L << position)) != 0) {
+            destinations &= BoardUtils.LINE[this.kingPosition][position];
+        }
+        return destinations;
+    }
+
+    private void addMoves(final int position, final int movedType, long destinations, final MoveList legalMoves) {
+        while(destinations != 0) {
+            final int destination = Long.numberOfTrailingZeros(destinations);
+            destinations &= destinations - 1;
+            legalMoves.add(EncodedMove.encode(position, destination, movedType, typeAt(destination), EncodedMove.NONE, EncodedMove.NORMAL));
+        }
+    }
+
+    private void addPawnMoves(final int position, final MoveList legalMoves, final boolean capturesOnly) {
+        final int forward = this.alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        final long allowed = legalDestinations(position);
+        final int advance = position + forward;
+        if(BoardUtils.isValidTileCoordinate(advance) && (this.occupancy & (1L << advance)) == 0) {
+            if((allowed & (1L << advance)) != 0 &&
+                    (!capturesOnly || BoardUtils.FIRST_ROW[advance] || BoardUtils.EIGHTH_ROW[advance])) {
+                addPawnAdvance(position, advance, EncodedMove.NONE, legalMoves, capturesOnly);
+            }
+            final int jump = advance + forward;
+            if(!capturesOnly && ((BoardUtils.SECOND_ROW[position] && this.alliance.isBlack()) ||
+                    (BoardUtils.SEVENTH_ROW[position] && this.alliance.isWhite())) &&
+                    (this.occupancy & (1L << jump)) == 0 && (allowed & (1L << jump)) != 0) {
+                legalMoves.add(EncodedMove.encode(position, jump, PAWN, EncodedMove.NONE, EncodedMove.NONE, EncodedMove.PAWN_JUMP));
+            }
+        }
+        long attacks = BoardUtils.PAWN_ATTACKS[this.alliance.ordinal()][position] & this.enemyPieces & allowed;
+        while(attacks != 0) {
+            final int destination = Long.numberOfTrailingZeros(attacks);
+            attacks &= attacks - 1;
+            addPawnAdvance(position, destination, typeAt(destination), legalMoves, capturesOnly);
+        }
+        final int enPassantSquare = this.boardState.getEnPassantSquare();
+        if(enPassantSquare != -1 &&
+                (BoardUtils.PAWN_ATTACKS[this.alliance.ordinal()][position] & (1L << enPassantSquare)) != 0) {
+            final int capturedPosition = enPassantSquare - forward;
+            if((this.boardState.getPieces(this.alliance.getOpposite(), PieceType.PAWN) & (1L << capturedPosition)) != 0 &&
+                    isEnPassantLegal(position, enPassantSquare, capturedPosition)) {
+                legalMoves.add(EncodedMove.encode(position, enPassantSquare, PAWN, PAWN, EncodedMove.NONE, EncodedMove.EN_PASSANT));
+            }
+        }
+    }
+
+    private void addPawnAdvance(final int position,
+                                final int destination,
+                                final int capturedType,
+                                final MoveList legalMoves,
+                                final boolean capturesOnly) {
+        if(BoardUtils.FIRST_ROW[destination] || BoardUtils.EIGHTH_ROW[destination]) {
+            //under promotions are left to the full generation
+            for(int i = 0; i < (capturesOnly ? 1 : PROMOTION_TYPES.length); i++) {
+                legalMoves.add(EncodedMove.encode(position, destination, PAWN, capturedType, PROMOTION_TYPES[i], EncodedMove.NORMAL));
+            }
+        } else {
+            legalMoves.add(EncodedMove.encode(position, destination, PAWN, capturedType, EncodedMove.NONE, EncodedMove.NORMAL));
+        }
+    }
+
+    //en passant removes two pieces from one row, so it is simply played out on the occupancy
+    private boolean isEnPassantLegal(final int position, final int destination, final int capturedPosition) {
+        return isEnPassantLegal(this.boardState, this.alliance, this.kingPosition, this.occupancy, position, destination, capturedPosition);
+    }
+
+    private static boolean isEnPassantLegal(final BoardState boardState,
+                                            final Alliance alliance,
+                                            final int kingPosition,
+                                            final long occupancy,
+                                            final int position,
+                                            final int destination,
+                                            final int capturedPosition) {
+        final long captured = 1L << capturedPosition;
+        final long occupancyAfter = (occupancy ^ (1L << position) ^ captured) | (1L << destination);
+        return !isAttacked(boardState, alliance, kingPosition, occupancyAfter, captured);
+    }
+
+    private void addKingMoves(final int position, final MoveList legalMoves, final boolean capturesOnly) {
+        final long attacked = this.boardState.getAttackedSquares(this.alliance.getOpposite());
+        long destinations = BoardUtils.KING_ATTACKS[position] & ~attacked & (capturesOnly ? this.enemyPieces : ~this.ownPieces);
+        while(destinations != 0) {
+            final int destination = Long.numberOfTrailingZeros(destinations);
+            destinations &= destinations - 1;
+            legalMoves.add(EncodedMove.encode(position, destination, KING, typeAt(destination), EncodedMove.NONE, EncodedMove.NORMAL));
+        }
+        if(this.checkers == 0 && !capturesOnly) {
+            addCastles(position, attacked, legalMoves);
+        }
+    }
+
+    private void addCastles(final int position, final long attacked, final MoveList legalMoves) {
+        final int home = this.alliance.isWhite() ? 60 : 4;
+        if(position != home) {
+            return;
+        }
+        if(canCastle(this.boardState, this.alliance, this.occupancy, attacked, true)) {
+            legalMoves.add(EncodedMove.encode(home, home + 2, KING, EncodedMove.NONE, EncodedMove.NONE, EncodedMove.KING_SIDE_CASTLE));
+        }
+        if(canCastle(this.boardState, this.alliance, this.occupancy, attacked, false)) {
+            legalMoves.add(EncodedMove.encode(home, home - 2, KING, EncodedMove.NONE, EncodedMove.NONE, EncodedMove.QUEEN_SIDE_CASTLE));
+        }
+    }
+
+    //the king is assumed to stand on its home tile and not to be in check
+    private static boolean canCastle(final BoardState boardState,
+                                     final Alliance alliance,
+                                     final long occupancy,
+                                     final long attacked,
+                                     final boolean kingSide) {
+        final int home = alliance.isWhite() ? 60 : 4;
+        final long rooks = boardState.getPieces(alliance, PieceType.ROOK);
+        if(kingSide) {
+            final int right = alliance.isWhite() ? BoardUtils.WHITE_KING_SIDE_CASTLE : BoardUtils.BLACK_KING_SIDE_CASTLE;
+            return (boardState.getCastlingRights() & right) != 0 && (rooks & (1L << (home + 3))) != 0 &&
+                    (occupancy & ((1L << (home + 1)) | (1L << (home + 2)))) == 0 &&
+                    (attacked & ((1L << (home + 1)) | (1L << (home + 2)))) == 0;
+        }
+        final int right = alliance.isWhite() ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+        return (boardState.getCastlingRights() & right) != 0 && (rooks & (1L << (home - 4))) != 0 &&
+                (occupancy & ((1L << (home - 1)) | (1L << (home - 2)) | (1L << (home - 3)))) == 0 &&
+                (attacked & ((1L << (home - 1)) | (1L << (home - 2)))) == 0;
+    }
+
+    private static boolean isAttacked(final BoardState boardState,
+                                      final Alliance alliance,
+                                      final int position,
+                                      final long occupancy,
+                                      final long captured) {
+        final Alliance opponent = alliance.getOpposite();
+        final long queens = boardState.getPieces(opponent, PieceType.QUEEN);
+        return (BoardUtils.PAWN_ATTACKS[alliance.ordinal()][position] & boardState.getPieces(opponent, PieceType.PAWN) & ~captured) != 0 ||
+                (BoardUtils.KNIGHT_ATTACKS[position] & boardState.getPieces(opponent, PieceType.KNIGHT) & ~captured) != 0 ||
+                (BoardUtils.KING_ATTACKS[position] & boardState.getPieces(opponent, PieceType.KING)) != 0 ||
+                (MagicBitboards.rookAttacks(position, occupancy) & (boardState.getPieces(opponent, PieceType.ROOK) | queens) & ~captured) != 0 ||
+                (MagicBitboards.bishopAttacks(position, occupancy) & (boardState.getPieces(opponent, PieceType.BISHOP) | queens) & ~captured) != 0;
+    }
+}
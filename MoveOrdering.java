@@ -0,0 +1,127 @@
+package chess.engine.search;
+
+import chess.engine.board.BoardState;
+import chess.engine.board.BoardUtils;
+import chess.engine.move.EncodedMove;
+import chess.engine.move.MoveList;
+import chess.engine.pieces.Piece.PieceType;
+import chess.engine.player.Player;
+
+public class MoveOrdering {
+
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+    //captures that lose material by static exchange go after every quiet move
+    private static final int LOSING_CAPTURE_SCORE = -(1 << 28);
+    //history scores are halved once one of them reaches this, so they never reach the killers
+    private static final int MAX_HISTORY = 1 << 26;
+    private static final int KILLERS_PER_PLY = 2;
+    private static final int QUEEN = EncodedMove.typeCode(PieceType.QUEEN);
+
+    private final int[][] killers;
+    private final int[][] history;
+    private int[][] scores;
+
+    public MoveOrdering() {
+        this.killers = new int[Search.MAX_PLY][KILLERS_PER_PLY];
+        this.history = new int[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        this.scores = new int[Search.MAX_PLY][256];
+    }
+
+    //killers belong to one search, history is kept but weighs less than what the new search learns
+    public void newSearch() {
+        for(final int[] plyKillers : this.killers) {
+            plyKillers[0] = 0;
+            plyKillers[1] = 0;
+        }
+        ageHistory();
+    }
+
+    //most valuable victim first, least valuable attacker breaks ties
+    public static int mvvLva(final int capturedType, final int movedType) {
+        return capturedType * 8 - movedType;
+    }
+
+    public void scoreMoves(final BoardState boardState, final MoveList moves, final int ply, final int hashMove) {
+        if(this.scores[ply].length < moves.size()) {
+            this.scores[ply] = new int[moves.size()];
+        }
+        final int[] plyScores = this.scores[ply];
+        final int[] plyKillers = this.killers[ply];
+        for(int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            final int captured = EncodedMove.getCaptured(move);
+            final int promotion = EncodedMove.getPromotion(move);
+            if(hashMove != 0 && TranspositionTable.packMove(move) == hashMove) {
+                plyScores[i] = HASH_MOVE_SCORE;
+            } else if(captured != EncodedMove.NONE || promotion == QUEEN) {
+                final int moved = EncodedMove.getMoved(move);
+                final int score = mvvLva(captured, moved) + (promotion == QUEEN ? 64 : 0);
+                plyScores[i] = isLosingCapture(boardState, move) ? LOSING_CAPTURE_SCORE + score : CAPTURE_SCORE + score;
+            } else if(move == plyKillers[0]) {
+                plyScores[i] = KILLER_SCORE + 1;
+            } else if(move == plyKillers[1]) {
+                plyScores[i] = KILLER_SCORE;
+            } else {
+                plyScores[i] = this.history[EncodedMove.getCurrentCoordinate(move)][EncodedMove.getDestinationCoordinate(move)];
+            }
+        }
+    }
+
+    //scoring already ran the exchange, history never goes negative, so only losing captures score below zero
+    public boolean isLosingCapture(final int ply, final int index) {
+        return this.scores[ply][index] < 0;
+    }
+
+    //taking a piece at least as valuable as the capturer cannot lose, so only the rest pay for an exchange
+    private static boolean isLosingCapture(final BoardState boardState, final int move) {
+        return EncodedMove.getMoved(move) > EncodedMove.getCaptured(move) &&
+                Player.staticExchange(boardState, move) < 0;
+    }
+
+    //swaps the best scored of the remaining moves into place, so a cutoff never pays for a full sort
+    public int nextMove(final MoveList moves, final int ply, final int index) {
+        final int[] plyScores = this.scores[ply];
+        int best = index;
+        for(int i = index + 1; i < moves.size(); i++) {
+            if(plyScores[i] > plyScores[best]) {
+                best = i;
+            }
+        }
+        final int move = moves.get(best);
+        if(best != index) {
+            moves.set(best, moves.get(index));
+            moves.set(index, move);
+            final int score = plyScores[best];
+            plyScores[best] = plyScores[index];
+            plyScores[index] = score;
+        }
+        return move;
+    }
+
+    public void updateCutoff(final int move, final int ply, final int depth) {
+        if(EncodedMove.isAttack(move) || EncodedMove.getPromotion(move) == QUEEN) {
+            return;
+        }
+        final int[] plyKillers = this.killers[ply];
+        if(plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        final int from = EncodedMove.getCurrentCoordinate(move);
+        final int to = EncodedMove.getDestinationCoordinate(move);
+        this.history[from][to] += depth * depth;
+        if(this.history[from][to] >= MAX_HISTORY) {
+            ageHistory();
+        }
+    }
+
+    private void ageHistory() {
+        for(final int[] fromHistory : this.history) {
+            for(int i = 0; i < fromHistory.length; i++) {
+                fromHistory[i] /= 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package chess.engine.perft;
+
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.Position;
+import chess.engine.move.EncodedMove;
+import chess.engine.move.Move;
+import chess.engine.move.MoveList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+public class Perft {
+
+    //below this many plies a subtree is counted on the thread that owns it
+    private static final int SEQUENTIAL_DEPTH = 3;
+
+    //fen followed by the known node counts for depth 1, 2, 3, ...
+    private static final String[][] REFERENCE_POSITIONS = {
+            {FenUtilities.STARTING_FEN, "20", "400", "8902", "197281", "4865609", "119060324"},
+            {"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", "48", "2039", "97862", "4085603", "193690690"},
+            {"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", "14", "191", "2812", "43238", "674624", "11030083"},
+            {"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", "6", "264", "9467", "422333", "15833292"},
+            {"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", "44", "1486", "62379", "2103487", "89941194"},
+            {"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", "46", "2079", "89890", "3894594", "164075551"}
+    };
+
+    private Perft() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static long perft(final Board board, final int depth) {
+        if(depth == 0) {
+            return 1;
+        }
+        final Collection<Move> legalMoves = board.getCurrentPlayer().calculateLegalMoves();
+        //bulk count the last ply instead of executing every leaf move
+        if(depth == 1) {
+            return legalMoves.size();
+        }
+        long nodes = 0;
+        for(final Move move : legalMoves) {
+            nodes += perft(move.execute(), depth - 1);
+        }
+        return nodes;
+    }
+
+    public static long perft(final Position position, final int depth) {
+        final MoveList[] moveLists = new MoveList[Math.max(depth, 1)];
+        for(int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return perft(position, depth, moveLists);
+    }
+
+    //one move list per ply, so counting a subtree allocates nothing
+    private static long perft(final Position position, final int depth, final MoveList[] moveLists) {
+        if(depth == 0) {
+            return 1;
+        }
+        final MoveList legalMoves = moveLists[depth - 1];
+        position.generateLegalMoves(legalMoves);
+        if(depth == 1) {
+            return legalMoves.size();
+        }
+        long nodes = 0;
+        for(int i = 0; i < legalMoves.size(); i++) {
+            position.makeMove(legalMoves.get(i));
+            nodes += perft(position, depth - 1, moveLists);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    public static long perft(final Board board, final int depth, final ForkJoinPool pool) {
+        return pool.invoke(new PerftTask(board, depth));
+    }
+
+    public static Map<Move, Long> divide(final Board board, final int depth, final ForkJoinPool pool) {
+        final Map<Move, Long> divide = new LinkedHashMap<>();
+        if(depth < 1) {
+            return divide;
+        }
+        final Map<Move, ForkJoinTask<Long>> tasks = new LinkedHashMap<>();
+        for(final Move move : board.getCurrentPlayer().calculateLegalMoves()) {
+            tasks.put(move, pool.submit(new PerftTask(move.execute(), depth - 1)));
+        }
+        for(final Map.Entry<Move, ForkJoinTask<Long>> entry : tasks.entrySet()) {
+            divide.put(entry.getKey(), entry.getValue().join());
+        }
+        return divide;
+    }
+
+    private static class PerftTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+
+        PerftTask(final Board board, final int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            if(this.depth <= SEQUENTIAL_DEPTH) {
+                return perft(new Position(this.board), this.depth);
+            }
+            final List<PerftTask> children = new ArrayList<>();
+            for(final Move move : this.board.getCurrentPlayer().calculateLegalMoves()) {
+                children.add(new PerftTask(move.execute(), this.depth - 1));
+            }
+            long nodes = 0;
+            for(final PerftTask child : invokeAll(children)) {
+                nodes += child.join();
+            }
+            return nodes;
+        }
+    }
+
+    private static boolean verify(final int maxDepth, final ForkJoinPool pool) {
+        boolean passed = true;
+        for(final String[] reference : REFERENCE_POSITIONS) {
+            final Board board = FenUtilities.createBoardFromFen(reference[0]);
+            for(int depth = 1; depth < reference.length && depth <= maxDepth; depth++) {
+                final long expected = Long.parseLong(reference[depth]);
+                final long start = System.nanoTime();
+                final long nodes = perft(board, depth, pool);
+                final long elapsed = System.nanoTime() - start;
+                final boolean ok = nodes == expected;
+                passed &= ok;
+                System.out.println((ok ? "OK   " : "FAIL ") + "depth " + depth + " nodes " + nodes +
+                        " expected " + expected + " " + formatSpeed(nodes, elapsed) + "  " + reference[0]);
+            }
+        }
+        return passed;
+    }
+
+    private static String formatSpeed(final long nodes, final long elapsedNanos) {
+        final double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        return String.format("(%.3f s, %.0f nps)", seconds, nodes / seconds);
+    }
+
+    //usage: Perft <depth> [fen] [threads]  or  Perft verify [max depth] [threads]
+    public static void main(final String[] args) {
+        if(args.length == 0) {
+            System.out.println("usage: Perft <depth> [fen] [threads] | Perft verify [max depth] [threads]");
+            return;
+        }
+        if(args[0].equals("verify")) {
+            final int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+            final ForkJoinPool pool = createPool(args.length > 2 ? args[2] : null);
+            final boolean passed = verify(maxDepth, pool);
+            pool.shutdown();
+            System.out.println(passed ? "All perft counts match" : "Perft counts do not match!");
+            if(!passed) {
+                System.exit(1);
+            }
+            return;
+        }
+        final int depth = Integer.parseInt(args[0]);
+        final Board board = FenUtilities.createBoardFromFen(args.length > 1 ? args[1] : FenUtilities.STARTING_FEN);
+        final ForkJoinPool pool = createPool(args.length > 2 ? args[2] : null);
+        final long start = System.nanoTime();
+        long total = 0;
+        for(final Map.Entry<Move, Long> entry : divide(board, depth, pool).entrySet()) {
+            System.out.println(EncodedMove.toUciString(entry.getKey()) + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        final long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        System.out.println();
+        System.out.println("Nodes searched: " + total + " " + formatSpeed(total, elapsed) +
+                " on " + pool.getParallelism() + " threads");
+    }
+
+    private static ForkJoinPool createPool(final String threads) {
+        return threads == null ? new ForkJoinPool() : new ForkJoinPool(Integer.parseInt(threads));
+    }
+}
@@ -2,7 +2,11 @@ package chess.engine.pieces;
 
 import chess.engine.Alliance;
 import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
 import chess.engine.move.Move;
+import chess.engine.move.Move.MoveFactory;
+import chess.engine.move.MoveGenerator;
+import chess.engine.move.MoveList;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
@@ -11,16 +15,17 @@ import java.io.FileNotFoundException;
 import java.util.Collection;
 
 public abstract class Piece {
-    protected int position;
-    protected PieceType pieceType;
-    protected Alliance alliance;
-    protected boolean hasMoved;
+
+    private static final Piece[][] ALL_PIECES = createAllPossiblePieces();
+
+    protected final int position;
+    protected final PieceType pieceType;
+    protected final Alliance alliance;
 
     public Piece(PieceType pieceType, int position, Alliance alliance) {
         this.pieceType = pieceType;
         this.position = position;
         this.alliance = alliance;
-        this.hasMoved = false;
     }
 
     public int getPiecePosition() {
@@ -35,17 +40,58 @@ public abstract class Piece {
         return this.pieceType;
     }
 
-    public void setHasMoved(boolean hasMoved) {
-        this.hasMoved = hasMoved;
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        final MoveList legalMoves = new MoveList();
+        new MoveGenerator(board, this.alliance).generateLegalMoves(this.position, legalMoves);
+        return MoveFactory.createMoves(board, legalMoves);
+    }
+
+    public abstract Piece movePiece(Move move);
+
+    //pieces are immutable, so every type, alliance and tile combination is shared
+    public static Piece of(final PieceType pieceType, final Alliance alliance, final int position) {
+        return ALL_PIECES[Board.bitBoardIndex(alliance, pieceType)][position];
     }
 
-    public boolean getHasMoved() {
-        return this.hasMoved;
+    //by Board piece code, null for an empty tile
+    public static Piece of(final int pieceCode, final int position) {
+        return pieceCode == 0 ? null : ALL_PIECES[pieceCode - 1][position];
     }
 
-    public abstract Collection<Move> calculateLegalMoves(final Board board);
+    public static Piece createPiece(final PieceType pieceType, final int position, final Alliance alliance) {
+        return of(pieceType, alliance, position);
+    }
 
-    public abstract Piece movePiece(Move move);
+    private static Piece[][] createAllPossiblePieces() {
+        final Alliance[] alliances = Alliance.values();
+        final PieceType[] pieceTypes = PieceType.values();
+        final Piece[][] pieces = new Piece[alliances.length * pieceTypes.length][BoardUtils.NUM_TILES];
+        for(final Alliance alliance : alliances) {
+            for(final PieceType pieceType : pieceTypes) {
+                for(int position = 0; position < BoardUtils.NUM_TILES; position++) {
+                    pieces[Board.bitBoardIndex(alliance, pieceType)][position] = newPiece(pieceType, position, alliance);
+                }
+            }
+        }
+        return pieces;
+    }
+
+    private static Piece newPiece(final PieceType pieceType, final int position, final Alliance alliance) {
+        switch(pieceType) {
+            case PAWN:
+                return new Pawn(position, alliance);
+            case KNIGHT:
+                return new Knight(position, alliance);
+            case BISHOP:
+                return new Bishop(position, alliance);
+            case ROOK:
+                return new Rook(position, alliance);
+            case QUEEN:
+                return new Queen(position, alliance);
+            default:
+                return new King(position, alliance);
+        }
+    }
 
     public enum PieceType {
         PAWN("P") {
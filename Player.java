@@ -2,8 +2,13 @@ package chess.engine.player;
 
 import chess.engine.Alliance;
 import chess.engine.board.Board;
+import chess.engine.board.BoardState;
 import chess.engine.board.BoardUtils;
+import chess.engine.board.MagicBitboards;
+import chess.engine.move.EncodedMove;
 import chess.engine.move.Move;
+import chess.engine.move.MoveGenerator;
+import chess.engine.move.MoveList;
 import chess.engine.move.MoveStatus;
 import chess.engine.move.MoveTransition;
 import chess.engine.pieces.King;
@@ -15,8 +20,14 @@ import java.util.*;
 import static chess.engine.move.Move.NULL_MOVE;
 
 public abstract class Player {
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    //the king is worth more than anything it could win, so it never recaptures into an attacked tile
+    private static final int[] EXCHANGE_VALUES = {100, 320, 330, 500, 900, 20000};
+
     protected final Board board;
     protected final King playerKing;
+    private volatile LegalMoveIndex legalMoves;
 
     public Player(final Board board) {
         this.board = board;
@@ -24,12 +35,11 @@ public abstract class Player {
     }
 
     public static boolean isTileAttacked(int position, Board board, Alliance alliance) {
-        boolean pawns, knights, diagonals, straights;
-        pawns = checkPawns(position, board, alliance);
-        knights = checkKnights(position, board, alliance);
-        diagonals = checkDiagonals(position, board, alliance);
-        straights = checkStraights(position, board, alliance);
-        return  pawns || knights || diagonals || straights;
+        return checkPawns(position, board, alliance) ||
+                checkKnights(position, board, alliance) ||
+                checkKing(position, board, alliance) ||
+                checkDiagonals(position, board, alliance) ||
+                checkStraights(position, board, alliance);
     }
 //
 //
@@ -191,169 +201,211 @@ public abstract class Player {
 //    }
 
     private static boolean checkPawns(int position, Board board, Alliance alliance) {
-        int[] attackDirections = {-9, -7, 7, 9};
-
-        for(int direction : attackDirections) {
-            int potentialThreatLocation = position + direction;
-            if(BoardUtils.isValidTileCoordinate(potentialThreatLocation)) {
-                if (board.getTile(potentialThreatLocation).isTileOccupied()) {
-                    if (board.getTile(potentialThreatLocation).getPiece().getPieceType() == PieceType.PAWN &&
-                            alliance != board.getTile(potentialThreatLocation).getPiece().getAlliance()) {
-                        if (board.getTile(potentialThreatLocation).getPiece().getAlliance() == Alliance.BLACK) {
-                            if (!((BoardUtils.FIRST_COLUMN[potentialThreatLocation] && direction == -9) ||
-                                    (BoardUtils.EIGHTH_COLUMN[potentialThreatLocation] && direction == -7))) {
-                                if (direction == -7 || direction == -9) {
-                                    return true;
-                                }
-                            }
-                        } else {
-                            if (!((BoardUtils.FIRST_COLUMN[potentialThreatLocation] && direction == 9) ||
-                                    (BoardUtils.EIGHTH_COLUMN[potentialThreatLocation] && direction == 7))) {
-                                if (direction == 7 || direction == 9) {
-                                    return true;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        //a pawn of our own colour on this tile would attack exactly the tiles enemy pawns attack it from
+        return (BoardUtils.PAWN_ATTACKS[alliance.ordinal()][position] &
+                board.getPieces(alliance.getOpposite(), PieceType.PAWN)) != 0;
     }
 
     private static boolean checkKnights(int position, Board board, Alliance alliance) {
-        int[] attackDirections = {-17, -15, -10, -6, 6, 10, 15, 17};
-        for(int direction : attackDirections) {
-            int potentialThreatLocation = position + direction;
-            if(BoardUtils.isValidTileCoordinate(potentialThreatLocation)) {
-                if(!((BoardUtils.FIRST_COLUMN[potentialThreatLocation] && (direction == 17 || direction == 10 || direction == -6 || direction == -15))||
-                        (BoardUtils.SECOND_COLUMN[potentialThreatLocation] && (direction == 10 || direction == -6)) ||
-                        (BoardUtils.SEVENTH_COLUMN[potentialThreatLocation] && (direction == 6 || direction == -10)) ||
-                        (BoardUtils.EIGHTH_COLUMN[potentialThreatLocation] && (direction == 15 || direction == 6 || direction == -10 || direction == -17)))) {
-                    if (board.getTile(potentialThreatLocation).isTileOccupied()) {
-                        if (board.getTile(potentialThreatLocation).getPiece().getPieceType() == PieceType.KNIGHT &&
-                                alliance != board.getTile(potentialThreatLocation).getPiece().getAlliance()) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        return (BoardUtils.KNIGHT_ATTACKS[position] & board.getPieces(alliance.getOpposite(), PieceType.KNIGHT)) != 0;
+    }
+
+    private static boolean checkKing(int position, Board board, Alliance alliance) {
+        return (BoardUtils.KING_ATTACKS[position] & board.getPieces(alliance.getOpposite(), PieceType.KING)) != 0;
     }
 
     private static boolean checkStraights(int position, Board board, Alliance alliance) {
-        int[] attackDirections = {-8, -1, 1, 8};
-        for(int direction : attackDirections) {
-            if(BoardUtils.isValidTileCoordinate(position)) {
-                int potentialThreatLocation = position + direction;
-                while (BoardUtils.isValidTileCoordinate(potentialThreatLocation)) {
-                    if ((BoardUtils.FIRST_COLUMN[potentialThreatLocation] && direction == 1) ||
-                        (BoardUtils.EIGHTH_COLUMN[potentialThreatLocation] && direction == -1)) {
-                        break;
-                    }
-                    if (board.getTile(potentialThreatLocation).isTileOccupied()) {
-                        if (alliance != board.getTile(potentialThreatLocation).getPiece().getAlliance()) {
-                            if(board.getTile(potentialThreatLocation).getPiece().getPieceType() == PieceType.QUEEN ||
-                            board.getTile(potentialThreatLocation).getPiece().getPieceType() == PieceType.ROOK) {
-                                return true;
-                            }
-                        }
-                        break;
-                    }
-                    potentialThreatLocation += direction;
-                }
-            }
-        }
-        return false;
+        final Alliance opponent = alliance.getOpposite();
+        final long straightAttackers = board.getPieces(opponent, PieceType.ROOK) | board.getPieces(opponent, PieceType.QUEEN);
+        return (MagicBitboards.rookAttacks(position, board.getOccupancy()) & straightAttackers) != 0;
     }
 
     private static boolean checkDiagonals(int position, Board board, Alliance alliance) {
-        int[] attackDirections = {-9, -7, 7, 9};
-
-        for(int direction : attackDirections) {
-            if(BoardUtils.isValidTileCoordinate(position)) {
-                int potentialThreatLocation = position + direction;
-                while (BoardUtils.isValidTileCoordinate(potentialThreatLocation)) {
-                    if ((BoardUtils.FIRST_COLUMN[potentialThreatLocation] && (direction == 9 || direction == -7)) ||
-                            (BoardUtils.EIGHTH_COLUMN[potentialThreatLocation] && (direction == 7) || direction == -9)) {
-                        break;
-                    }
-                    if (board.getTile(potentialThreatLocation).isTileOccupied()) {
-                        if (alliance != board.getTile(potentialThreatLocation).getPiece().getAlliance()) {
-                            if(board.getTile(potentialThreatLocation).getPiece().getPieceType() == PieceType.QUEEN ||
-                                    board.getTile(potentialThreatLocation).getPiece().getPieceType() == PieceType.BISHOP) {
-                                return true;
-                            }
-                        }
-                        break;
-                    }
-                    potentialThreatLocation += direction;
+        final Alliance opponent = alliance.getOpposite();
+        final long diagonalAttackers = board.getPieces(opponent, PieceType.BISHOP) | board.getPieces(opponent, PieceType.QUEEN);
+        return (MagicBitboards.bishopAttacks(position, board.getOccupancy()) & diagonalAttackers) != 0;
+    }
+
+    public long attackersTo(final int position, final long occupancy) {
+        return attackersTo(this.board, position, occupancy);
+    }
+
+    //every piece of either colour attacking the tile through the given occupancy, so removing
+    //a slider from the occupancy uncovers whatever x-rays through it
+    public static long attackersTo(final BoardState boardState, final int position, final long occupancy) {
+        final long queens = boardState.getPieces(Alliance.WHITE, PieceType.QUEEN) | boardState.getPieces(Alliance.BLACK, PieceType.QUEEN);
+        final long straightAttackers = boardState.getPieces(Alliance.WHITE, PieceType.ROOK) | boardState.getPieces(Alliance.BLACK, PieceType.ROOK) | queens;
+        final long diagonalAttackers = boardState.getPieces(Alliance.WHITE, PieceType.BISHOP) | boardState.getPieces(Alliance.BLACK, PieceType.BISHOP) | queens;
+        return ((BoardUtils.PAWN_ATTACKS[Alliance.WHITE.ordinal()][position] & boardState.getPieces(Alliance.BLACK, PieceType.PAWN)) |
+                (BoardUtils.PAWN_ATTACKS[Alliance.BLACK.ordinal()][position] & boardState.getPieces(Alliance.WHITE, PieceType.PAWN)) |
+                (BoardUtils.KNIGHT_ATTACKS[position] & (boardState.getPieces(Alliance.WHITE, PieceType.KNIGHT) | boardState.getPieces(Alliance.BLACK, PieceType.KNIGHT))) |
+                (BoardUtils.KING_ATTACKS[position] & (boardState.getPieces(Alliance.WHITE, PieceType.KING) | boardState.getPieces(Alliance.BLACK, PieceType.KING))) |
+                (MagicBitboards.rookAttacks(position, occupancy) & straightAttackers) |
+                (MagicBitboards.bishopAttacks(position, occupancy) & diagonalAttackers)) & occupancy;
+    }
+
+    public int staticExchange(final Move move) {
+        return staticExchange(this.board, EncodedMove.encode(move));
+    }
+
+    //material the mover expects to win on the destination tile if both sides keep recapturing
+    //with their least valuable attacker and stop as soon as going on would lose
+    public static int staticExchange(final BoardState boardState, final int move) {
+        final int from = EncodedMove.getCurrentCoordinate(move);
+        final int to = EncodedMove.getDestinationCoordinate(move);
+        final int promotion = EncodedMove.getPromotion(move);
+        final int captured = EncodedMove.getCaptured(move);
+        final int[] gain = new int[32];
+        long occupancy = boardState.getOccupancy() ^ (1L << from);
+        if(EncodedMove.getFlag(move) == EncodedMove.EN_PASSANT) {
+            occupancy ^= 1L << ((from & ~7) | (to & 7));
+        }
+        gain[0] = captured == EncodedMove.NONE ? 0 : EXCHANGE_VALUES[captured - 1];
+        int pieceOnTile = EXCHANGE_VALUES[EncodedMove.getMoved(move) - 1];
+        if(promotion != EncodedMove.NONE) {
+            gain[0] += EXCHANGE_VALUES[promotion - 1] - pieceOnTile;
+            pieceOnTile = EXCHANGE_VALUES[promotion - 1];
+        }
+        Alliance side = (boardState.getOccupancy(Alliance.WHITE) & (1L << from)) != 0 ? Alliance.BLACK : Alliance.WHITE;
+        long attackers = attackersTo(boardState, to, occupancy);
+        int depth = 0;
+        while(depth < gain.length - 1) {
+            final long sideAttackers = attackers & boardState.getOccupancy(side);
+            if(sideAttackers == 0) {
+                break;
+            }
+            int attackerType = 0;
+            long attacker = 0L;
+            for(final PieceType pieceType : PIECE_TYPES) {
+                attacker = sideAttackers & boardState.getPieces(side, pieceType);
+                if(attacker != 0) {
+                    attackerType = pieceType.ordinal();
+                    break;
                 }
             }
+            depth++;
+            gain[depth] = pieceOnTile - gain[depth - 1];
+            occupancy ^= Long.lowestOneBit(attacker);
+            attackers = attackersTo(boardState, to, occupancy);
+            pieceOnTile = EXCHANGE_VALUES[attackerType];
+            side = side.getOpposite();
         }
-        return false;
+        while(depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
     }
 
     private King establishKing() {
-        for(final Piece piece : getActivePieces()) {
-            if(piece.getPieceType().isKing()) {
-                return (King) piece;
-            }
+        final int kingSquare = this.board.getKingSquare(getAlliance());
+        if(kingSquare < BoardUtils.NUM_TILES) {
+            return (King) this.board.getPiece(kingSquare);
         }
         throw new RuntimeException("Should not reach here! Not a valid board!!");
     }
 
     public boolean isInCheck() {
-        return isTileAttacked(this.playerKing.getPiecePosition(), board, this.getAlliance());
+        return (this.board.getAttackedSquares(this.getAlliance().getOpposite()) & (1L << this.playerKing.getPiecePosition())) != 0;
     }
 
     //TODO implement methods below!!!
     public boolean isInCheckMate() {
-        return isTileAttacked(this.playerKing.getPiecePosition(), board, this.getAlliance()) && !hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isInStaleMate() {
-        return !isTileAttacked(this.playerKing.getPiecePosition(), board, this.getAlliance()) && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     protected boolean hasEscapeMoves() {
-        int[] moveDirections = {-9, -8, -7, -1, 1, 7, 8, 9};
-        for(int direction : moveDirections) {
-            int destination = this.playerKing.getPiecePosition() + direction;
-            if(BoardUtils.isValidTileCoordinate(destination)) {
-                if(!board.getTile(destination).isTileOccupied()) {
-                    Move move = Move.MoveFactory.createMove(board, this.playerKing.getPiecePosition(), destination);
-                    MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-                    if(moveTransition.getMoveStatus().isDone()) {
-                        return true;
-                    }
-                }
+        final LegalMoveIndex calculatedMoves = this.legalMoves;
+        if(calculatedMoves != null) {
+            return !calculatedMoves.moves.isEmpty();
+        }
+        final MoveList legalMoves = new MoveList();
+        new MoveGenerator(this.board, this.getAlliance()).generateLegalMoves(legalMoves);
+        return !legalMoves.isEmpty();
+    }
+
+    public Collection<Move> calculateLegalMoves() {
+        final MoveList legalMoves = new MoveList();
+        new MoveGenerator(this.board, this.getAlliance()).generateLegalMoves(legalMoves);
+        return Move.MoveFactory.createMoves(this.board, legalMoves);
+    }
+
+    //boards are shared between threads, a race only means the list and its index are calculated twice
+    public Collection<Move> getLegalMoves() {
+        return legalMoveIndex().moves;
+    }
+
+    private LegalMoveIndex legalMoveIndex() {
+        LegalMoveIndex index = this.legalMoves;
+        if(index == null) {
+            final MoveList legalMoves = new MoveList();
+            new MoveGenerator(this.board, this.getAlliance()).generateLegalMoves(legalMoves);
+            index = new LegalMoveIndex(Move.MoveFactory.createMoves(this.board, legalMoves));
+            this.legalMoves = index;
+        }
+        return index;
+    }
+
+    public Collection<Move> getLegalMoves(final int position) {
+        final List<Move> moves = new ArrayList<>();
+        for(final Move move : getLegalMoves()) {
+            if(move.getCurrentCoordinate() == position) {
+                moves.add(move);
             }
         }
-        return false;
+        return Collections.unmodifiableList(moves);
+    }
+
+    public Move getLegalMove(final int currentPosition, final int destinationPosition, final PieceType promotionType) {
+        if(!BoardUtils.isValidTileCoordinate(currentPosition) || !BoardUtils.isValidTileCoordinate(destinationPosition)) {
+            return NULL_MOVE;
+        }
+        return legalMoveIndex().find(currentPosition, destinationPosition, promotionType);
     }
 
     public boolean isCastled() {
         return false;
     }
 
+    //checks a single move against the pins and checks of this board without executing anything
+    public boolean isLegal(final Move move) {
+        if(!isOwnMove(move)) {
+            return false;
+        }
+        //moves handed out from the cached legal moves are trusted as they are
+        if(this.legalMoves != null &&
+                getLegalMove(move.getCurrentCoordinate(), move.getDestinationCoordinate(), move.getPromotionType()) == move) {
+            return true;
+        }
+        final int encodedMove = EncodedMove.encode(move);
+        return isPseudoLegal(move, encodedMove) && MoveGenerator.keepsKingSafe(this.board, getAlliance(), encodedMove);
+    }
+
+    private boolean isOwnMove(final Move move) {
+        return move != NULL_MOVE && move.getBoard() == this.board && this.board.getCurrentPlayer() == this &&
+                move.getMovedPiece().getAlliance() == getAlliance();
+    }
+
+    private boolean isPseudoLegal(final Move move, final int encodedMove) {
+        return this.board.getPiece(move.getCurrentCoordinate()) == move.getMovedPiece() &&
+                (!move.isAttack() || this.board.getPiece(move.getAttackedPiece().getPiecePosition()) == move.getAttackedPiece()) &&
+                (!move.isCastlingMove() || this.board.getPiece(move.getCastleRookStart()) == move.getCastleRook()) &&
+                MoveGenerator.isPseudoLegal(this.board, getAlliance(), encodedMove);
+    }
+
     public MoveTransition makeMove(final Move move) {
-        if(move == NULL_MOVE) {
-            return new MoveTransition(this.board, MoveStatus.ILLEGAL_MOVE);
-        } else {
-            if (!(move.getMovedPiece().calculateLegalMoves(this.board).contains(move)) ||
-                    move.getMovedPiece().getAlliance() != board.getCurrentPlayer().getAlliance()) {
-                System.out.println("Move is illegal");
-                return new MoveTransition(this.board, MoveStatus.ILLEGAL_MOVE);
-            }
-            final Board transitionBoard = move.execute();
-            if (Player.isTileAttacked(transitionBoard.getCurrentPlayer().getOpponent().playerKing.getPiecePosition(), transitionBoard, transitionBoard.getCurrentPlayer().getOpponent().playerKing.getAlliance())) {
-                System.out.println("Leaves player in check");
-                return new MoveTransition(this.board, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-            }
-            return new MoveTransition(transitionBoard, MoveStatus.DONE);
+        if(isLegal(move)) {
+            return new MoveTransition(move.execute(), MoveStatus.DONE);
         }
+        //a move the piece could make that only fails on the safety of its own king
+        if(isOwnMove(move) && isPseudoLegal(move, EncodedMove.encode(move))) {
+            return new MoveTransition(this.board, MoveStatus.LEAVES_PLAYER_IN_CHECK);
+        }
+        return new MoveTransition(this.board, MoveStatus.ILLEGAL_MOVE);
     }
 
     public King getPlayerKing() {
@@ -363,4 +415,34 @@ public abstract class Player {
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
+
+    //the legal moves with a table from current << 6 | destination to the first of their slots plus one,
+    //the promotions of one pawn move are generated next to each other so they follow that slot
+    private static final class LegalMoveIndex {
+
+        private final List<Move> moves;
+        private final short[] slots;
+
+        LegalMoveIndex(final List<Move> moves) {
+            this.moves = moves;
+            this.slots = new short[BoardUtils.NUM_TILES * BoardUtils.NUM_TILES];
+            for(int i = moves.size() - 1; i >= 0; i--) {
+                final Move move = moves.get(i);
+                this.slots[move.getCurrentCoordinate() << 6 | move.getDestinationCoordinate()] = (short) (i + 1);
+            }
+        }
+
+        Move find(final int currentPosition, final int destinationPosition, final PieceType promotionType) {
+            for(int i = this.slots[currentPosition << 6 | destinationPosition] - 1; i >= 0 && i < this.moves.size(); i++) {
+                final Move move = this.moves.get(i);
+                if(move.getCurrentCoordinate() != currentPosition || move.getDestinationCoordinate() != destinationPosition) {
+                    break;
+                }
+                if(move.getPromotionType() == promotionType) {
+                    return move;
+                }
+            }
+            return NULL_MOVE;
+        }
+    }
 }
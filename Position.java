@@ -0,0 +1,284 @@
+package chess.engine.board;
+
+import chess.engine.Alliance;
+import chess.engine.eval.Evaluator;
+import chess.engine.move.EncodedMove;
+import chess.engine.move.Move;
+import chess.engine.move.MoveGenerator;
+import chess.engine.move.MoveList;
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+public class Position implements BoardState {
+
+    private static final Alliance[] ALLIANCES = Alliance.values();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int NO_EN_PASSANT = -1;
+
+    //each tile holds Board.bitBoardIndex + 1 of its piece, 0 when empty
+    private final byte[] mailbox;
+    private final long[] pieceBitBoards;
+    private final long[] occupancy;
+    private Alliance sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private long zobristKey;
+    private int middlegameScore;
+    private int endgameScore;
+    private int gamePhase;
+    //attack maps of the current position by Alliance ordinal, 0 until asked for
+    private final long[] attackedSquares;
+    private long[] history;
+    private int ply;
+
+    public Position(final Board board) {
+        this.mailbox = new byte[BoardUtils.NUM_TILES];
+        this.pieceBitBoards = new long[ALLIANCES.length * PIECE_TYPES.length];
+        this.occupancy = new long[ALLIANCES.length];
+        this.attackedSquares = new long[ALLIANCES.length];
+        long pieces = board.getOccupancy();
+        while(pieces != 0) {
+            final int location = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            final Piece piece = board.getPiece(location);
+            addPiece(location, Board.bitBoardIndex(piece.getAlliance(), piece.getPieceType()) + 1);
+        }
+        this.sideToMove = board.getCurrentPlayer().getAlliance();
+        this.castlingRights = board.getCastlingRights();
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        this.enPassantSquare = enPassantPawn == null ? NO_EN_PASSANT :
+                enPassantPawn.getPiecePosition() - enPassantPawn.getAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        this.zobristKey ^= Zobrist.castling(this.castlingRights) ^ Zobrist.enPassant(this.enPassantSquare);
+        if(this.sideToMove.isBlack()) {
+            this.zobristKey ^= Zobrist.SIDE;
+        }
+        this.history = new long[64];
+        this.ply = 0;
+    }
+
+    public void makeMove(final Move move) {
+        makeMove(EncodedMove.encode(move));
+    }
+
+    public void makeMove(final int move) {
+        final int from = EncodedMove.getCurrentCoordinate(move);
+        final int to = EncodedMove.getDestinationCoordinate(move);
+        final int flag = EncodedMove.getFlag(move);
+        makeMove(from,
+                 to,
+                 flag == EncodedMove.EN_PASSANT ? to - this.sideToMove.getDirection() * BoardUtils.NUM_TILES_PER_ROW : to,
+                 EncodedMove.getPromotion(move),
+                 flag == EncodedMove.KING_SIDE_CASTLE || flag == EncodedMove.QUEEN_SIDE_CASTLE);
+    }
+
+    //fills the list with the legal moves of the side to move
+    public void generateLegalMoves(final MoveList legalMoves) {
+        legalMoves.clear();
+        new MoveGenerator(this, this.sideToMove).generateLegalMoves(legalMoves);
+    }
+
+    //fills the list with the captures and queen promotions of the side to move
+    public void generateCaptures(final MoveList captures) {
+        captures.clear();
+        new MoveGenerator(this, this.sideToMove).generateCaptures(captures);
+    }
+
+    public boolean isInCheck() {
+        return new MoveGenerator(this, this.sideToMove).isInCheck();
+    }
+
+    //undo record: from | to << 6 | captured << 12 | captured square << 16 | castling << 22 |
+    //en passant + 1 << 26 | promotion << 33 | castle flag << 36
+    private void makeMove(final int from,
+                          final int to,
+                          final int capturedSquare,
+                          final int promotion,
+                          final boolean castle) {
+        final int moved = this.mailbox[from];
+        final int captured = this.mailbox[capturedSquare];
+        this.attackedSquares[0] = 0L;
+        this.attackedSquares[1] = 0L;
+        if(this.ply == this.history.length) {
+            this.history = Arrays.copyOf(this.history, this.ply * 2);
+        }
+        this.history[this.ply++] = from | (to << 6) | (captured << 12) | ((long) capturedSquare << 16) |
+                ((long) this.castlingRights << 22) | ((long) (this.enPassantSquare + 1) << 26) |
+                ((long) promotion << 33) | (castle ? 1L << 36 : 0L);
+        if(captured != 0) {
+            removePiece(capturedSquare, captured);
+        }
+        removePiece(from, moved);
+        addPiece(to, promotion == 0 ? moved : moved - PieceType.PAWN.ordinal() - 1 + promotion);
+        if(castle) {
+            final int rookFrom = to > from ? to + 1 : to - 2;
+            final int rookTo = to > from ? to - 1 : to + 1;
+            final int rook = this.mailbox[rookFrom];
+            removePiece(rookFrom, rook);
+            addPiece(rookTo, rook);
+        }
+        this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare) ^ Zobrist.castling(this.castlingRights) ^ Zobrist.SIDE;
+        if(isPawn(moved) && Math.abs(to - from) == 2 * BoardUtils.NUM_TILES_PER_ROW) {
+            this.enPassantSquare = (from + to) / 2;
+        } else {
+            this.enPassantSquare = NO_EN_PASSANT;
+        }
+        this.castlingRights &= BoardUtils.CASTLING_RIGHTS_MASKS[from] & BoardUtils.CASTLING_RIGHTS_MASKS[to];
+        this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare) ^ Zobrist.castling(this.castlingRights);
+        this.sideToMove = this.sideToMove.getOpposite();
+    }
+
+    public void unmakeMove() {
+        if(this.ply == 0) {
+            throw new RuntimeException("No move to unmake!");
+        }
+        final long record = this.history[--this.ply];
+        this.attackedSquares[0] = 0L;
+        this.attackedSquares[1] = 0L;
+        final int from = (int) (record & 63);
+        final int to = (int) ((record >>> 6) & 63);
+        final int captured = (int) ((record >>> 12) & 15);
+        final int capturedSquare = (int) ((record >>> 16) & 63);
+        final int promotion = (int) ((record >>> 33) & 7);
+        this.sideToMove = this.sideToMove.getOpposite();
+        final int placed = this.mailbox[to];
+        removePiece(to, placed);
+        addPiece(from, promotion == 0 ? placed : pieceCode(this.sideToMove, PieceType.PAWN));
+        if(((record >>> 36) & 1) != 0) {
+            final int rookFrom = to > from ? to + 1 : to - 2;
+            final int rookTo = to > from ? to - 1 : to + 1;
+            final int rook = this.mailbox[rookTo];
+            removePiece(rookTo, rook);
+            addPiece(rookFrom, rook);
+        }
+        if(captured != 0) {
+            addPiece(capturedSquare, captured);
+        }
+        this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare) ^ Zobrist.castling(this.castlingRights) ^ Zobrist.SIDE;
+        this.castlingRights = (int) ((record >>> 22) & 15);
+        this.enPassantSquare = (int) ((record >>> 26) & 127) - 1;
+        this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare) ^ Zobrist.castling(this.castlingRights);
+    }
+
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        Pawn enPassantPawn = null;
+        final int enPassantPawnSquare = this.enPassantSquare - this.sideToMove.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        for(int location = 0; location < BoardUtils.NUM_TILES; location++) {
+            final int code = this.mailbox[location];
+            if(code == 0) {
+                continue;
+            }
+            final Piece piece = Piece.createPiece(PIECE_TYPES[(code - 1) % PIECE_TYPES.length],
+                                                  location,
+                                                  ALLIANCES[(code - 1) / PIECE_TYPES.length]);
+            builder.setPiece(piece);
+            if(this.enPassantSquare != NO_EN_PASSANT && location == enPassantPawnSquare) {
+                enPassantPawn = (Pawn) piece;
+            }
+        }
+        builder.setEnPassantPawn(enPassantPawn);
+        builder.setMoveMaker(this.sideToMove);
+        builder.setCastlingRights(this.castlingRights);
+        return builder.build();
+    }
+
+    @Override
+    public int getPieceCode(final int location) {
+        return this.mailbox[location];
+    }
+
+    @Override
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBitBoards[Board.bitBoardIndex(alliance, pieceType)];
+    }
+
+    @Override
+    public long getOccupancy(final Alliance alliance) {
+        return this.occupancy[alliance.ordinal()];
+    }
+
+    @Override
+    public long getOccupancy() {
+        return this.occupancy[0] | this.occupancy[1];
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    @Override
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    @Override
+    public long getAttackedSquares(final Alliance attacker) {
+        long attacked = this.attackedSquares[attacker.ordinal()];
+        if(attacked == 0) {
+            attacked = BoardUtils.attackedSquares(this, attacker);
+            this.attackedSquares[attacker.ordinal()] = attacked;
+        }
+        return attacked;
+    }
+
+    @Override
+    public int getMiddlegameScore() {
+        return this.middlegameScore;
+    }
+
+    @Override
+    public int getEndgameScore() {
+        return this.endgameScore;
+    }
+
+    @Override
+    public int getGamePhase() {
+        return this.gamePhase;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    private static int pieceCode(final Alliance alliance, final PieceType pieceType) {
+        return Board.bitBoardIndex(alliance, pieceType) + 1;
+    }
+
+    private static boolean isPawn(final int code) {
+        return (code - 1) % PIECE_TYPES.length == PieceType.PAWN.ordinal();
+    }
+
+    private void addPiece(final int location, final int code) {
+        final long bit = 1L << location;
+        this.mailbox[location] = (byte) code;
+        this.pieceBitBoards[code - 1] |= bit;
+        this.occupancy[(code - 1) / PIECE_TYPES.length] |= bit;
+        this.zobristKey ^= Zobrist.piece(code - 1, location);
+        this.middlegameScore += Evaluator.middlegame(code - 1, location);
+        this.endgameScore += Evaluator.endgame(code - 1, location);
+        this.gamePhase += Evaluator.phase(code - 1);
+    }
+
+    private void removePiece(final int location, final int code) {
+        final long bit = 1L << location;
+        this.mailbox[location] = 0;
+        this.pieceBitBoards[code - 1] &= ~bit;
+        this.occupancy[(code - 1) / PIECE_TYPES.length] &= ~bit;
+        this.zobristKey ^= Zobrist.piece(code - 1, location);
+        this.middlegameScore -= Evaluator.middlegame(code - 1, location);
+        this.endgameScore -= Evaluator.endgame(code - 1, location);
+        this.gamePhase -= Evaluator.phase(code - 1);
+    }
+}
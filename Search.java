@@ -0,0 +1,355 @@
+package chess.engine.search;
+
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.Position;
+import chess.engine.eval.Evaluator;
+import chess.engine.move.EncodedMove;
+import chess.engine.move.Move;
+import chess.engine.move.Move.MoveFactory;
+import chess.engine.move.MoveGenerator;
+import chess.engine.move.MoveList;
+import chess.engine.pieces.Piece.PieceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class Search {
+
+    public static final int MAX_PLY = 128;
+    public static final int MATE = 30000;
+    public static final int INFINITY = 31000;
+
+    private static final int DEFAULT_HASH_SIZE = 64;
+    //a capture that cannot lift the stand pat score this close to alpha is not searched
+    private static final int DELTA_MARGIN = 200;
+    private static final int QUEEN_PROMOTION_GAIN = Evaluator.pieceValue(PieceType.QUEEN) - Evaluator.pieceValue(PieceType.PAWN);
+    //how many nodes are searched between two looks at the clock
+    private static final int TIME_CHECK_INTERVAL = 2047;
+
+    private final TranspositionTable transpositionTable;
+    private final AtomicBoolean stopSignal;
+    private final MoveList[] moveLists;
+    private final int[][] principalVariation;
+    private final int[] principalVariationLength;
+    private final long[] keyHistory;
+    private final MoveOrdering moveOrdering;
+    private Position position;
+    private long deadline;
+    private boolean stopped;
+    private long nodes;
+    private int completedDepth;
+    private int score;
+    private int bestMove;
+    private int[] bestLine;
+
+    public Search() {
+        this(new TranspositionTable(DEFAULT_HASH_SIZE));
+    }
+
+    public Search(final TranspositionTable transpositionTable) {
+        this(transpositionTable, new AtomicBoolean());
+    }
+
+    Search(final TranspositionTable transpositionTable, final AtomicBoolean stopSignal) {
+        this.transpositionTable = transpositionTable;
+        this.stopSignal = stopSignal;
+        this.moveLists = new MoveList[MAX_PLY];
+        for(int i = 0; i < MAX_PLY; i++) {
+            this.moveLists[i] = new MoveList();
+        }
+        this.principalVariation = new int[MAX_PLY][MAX_PLY];
+        this.principalVariationLength = new int[MAX_PLY];
+        this.keyHistory = new long[MAX_PLY];
+        this.moveOrdering = new MoveOrdering();
+        this.bestLine = new int[0];
+    }
+
+    public Move findBestMove(final Board board, final long timeLimitMillis) {
+        return findBestMove(board, MAX_PLY - 1, timeLimitMillis);
+    }
+
+    public Move findBestMove(final Board board, final int maxDepth, final long timeLimitMillis) {
+        this.stopSignal.set(false);
+        this.transpositionTable.newSearch();
+        iterate(board, 1, maxDepth, System.nanoTime() + timeLimitMillis * 1000000L, true);
+        return getBestMove(board);
+    }
+
+    //deepens from startDepth until maxDepth, the deadline or the stop signal; only the main search
+    //gives up early when the next iteration is unlikely to finish in time
+    void iterate(final Board board, final int startDepth, final int maxDepth, final long deadline, final boolean mainSearch) {
+        final long start = System.nanoTime();
+        this.deadline = deadline;
+        this.stopped = false;
+        this.nodes = 0;
+        this.completedDepth = 0;
+        this.score = 0;
+        this.bestMove = 0;
+        this.bestLine = new int[0];
+        this.position = new Position(board);
+        this.moveOrdering.newSearch();
+
+        final MoveList rootMoves = new MoveList();
+        this.position.generateLegalMoves(rootMoves);
+        if(rootMoves.isEmpty()) {
+            return;
+        }
+        //always have a move to play, even if the first iteration runs out of time
+        this.bestMove = rootMoves.get(0);
+        for(int depth = Math.max(startDepth, 1); depth <= Math.min(maxDepth, MAX_PLY - 1); depth++) {
+            final int iterationScore = negamax(depth, 0, -INFINITY, INFINITY);
+            if(this.stopped) {
+                break;
+            }
+            this.completedDepth = depth;
+            this.score = iterationScore;
+            this.bestMove = this.principalVariation[0][0];
+            this.bestLine = new int[this.principalVariationLength[0]];
+            System.arraycopy(this.principalVariation[0], 0, this.bestLine, 0, this.bestLine.length);
+            //another iteration takes longer than all the previous ones together
+            if(mainSearch && (Math.abs(iterationScore) >= MATE - MAX_PLY ||
+                    System.nanoTime() - start > (deadline - start) / 2)) {
+                break;
+            }
+        }
+    }
+
+    Move getBestMove(final Board board) {
+        return this.bestMove == 0 ? MoveFactory.getNullMove() : MoveFactory.createMove(board, this.bestMove);
+    }
+
+    private int negamax(int depth, final int ply, int alpha, final int beta) {
+        this.principalVariationLength[ply] = ply;
+        if((++this.nodes & TIME_CHECK_INTERVAL) == 0 &&
+                (System.nanoTime() >= this.deadline || this.stopSignal.get())) {
+            this.stopped = true;
+        }
+        if(this.stopped) {
+            return 0;
+        }
+        final long key = this.position.getZobristKey();
+        this.keyHistory[ply] = key;
+        if(ply > 0 && isRepetition(ply)) {
+            return 0;
+        }
+        if(depth <= 0) {
+            return quiescence(ply, alpha, beta);
+        }
+        if(ply >= MAX_PLY - 1) {
+            return evaluate();
+        }
+
+        int hashMove = 0;
+        final long entry = this.transpositionTable.probe(key);
+        if(entry != TranspositionTable.NO_ENTRY) {
+            hashMove = TranspositionTable.getMove(entry);
+            if(ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+                final int hashScore = scoreFromTable(TranspositionTable.getScore(entry), ply);
+                final int bound = TranspositionTable.getBound(entry);
+                if(bound == TranspositionTable.EXACT ||
+                        (bound == TranspositionTable.LOWER_BOUND && hashScore >= beta) ||
+                        (bound == TranspositionTable.UPPER_BOUND && hashScore <= alpha)) {
+                    return hashScore;
+                }
+            }
+        }
+        if(ply == 0 && this.completedDepth > 0) {
+            hashMove = TranspositionTable.packMove(this.bestMove);
+        }
+
+        final MoveList moves = this.moveLists[ply];
+        this.position.generateLegalMoves(moves);
+        if(moves.isEmpty()) {
+            return this.position.isInCheck() ? -MATE + ply : 0;
+        }
+        this.moveOrdering.scoreMoves(this.position, moves, ply, hashMove);
+
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = 0;
+        for(int i = 0; i < moves.size(); i++) {
+            final int move = this.moveOrdering.nextMove(moves, ply, i);
+            this.position.makeMove(move);
+            final int moveScore = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            this.position.unmakeMove();
+            if(this.stopped) {
+                return 0;
+            }
+            if(moveScore > bestScore) {
+                bestScore = moveScore;
+                bestMove = move;
+                if(moveScore > alpha) {
+                    alpha = moveScore;
+                    updatePrincipalVariation(ply, move);
+                    if(moveScore >= beta) {
+                        this.moveOrdering.updateCutoff(move, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+        final int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND :
+                bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        this.transpositionTable.store(key, TranspositionTable.packMove(bestMove), scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    //resolves captures until the position is quiet, evading every check on the way
+    private int quiescence(final int ply, int alpha, final int beta) {
+        this.principalVariationLength[ply] = ply;
+        if((++this.nodes & TIME_CHECK_INTERVAL) == 0 &&
+                (System.nanoTime() >= this.deadline || this.stopSignal.get())) {
+            this.stopped = true;
+        }
+        if(this.stopped) {
+            return 0;
+        }
+        if(ply >= MAX_PLY - 1) {
+            return evaluate();
+        }
+        final MoveGenerator generator = new MoveGenerator(this.position, this.position.getSideToMove());
+        final MoveList moves = this.moveLists[ply];
+        moves.clear();
+        final boolean inCheck = generator.isInCheck();
+        final int standPat;
+        int bestScore;
+        if(inCheck) {
+            generator.generateLegalMoves(moves);
+            if(moves.isEmpty()) {
+                return -MATE + ply;
+            }
+            standPat = -INFINITY;
+            bestScore = -INFINITY;
+        } else {
+            standPat = evaluate();
+            if(standPat >= beta) {
+                return standPat;
+            }
+            if(standPat > alpha) {
+                alpha = standPat;
+            }
+            bestScore = standPat;
+            generator.generateCaptures(moves);
+        }
+        this.moveOrdering.scoreMoves(this.position, moves, ply, 0);
+        for(int i = 0; i < moves.size(); i++) {
+            final int move = this.moveOrdering.nextMove(moves, ply, i);
+            if(!inCheck && (standPat + captureGain(move) + DELTA_MARGIN <= alpha ||
+                    this.moveOrdering.isLosingCapture(ply, i))) {
+                continue;
+            }
+            this.position.makeMove(move);
+            final int moveScore = -quiescence(ply + 1, -beta, -alpha);
+            this.position.unmakeMove();
+            if(this.stopped) {
+                return 0;
+            }
+            if(moveScore > bestScore) {
+                bestScore = moveScore;
+                if(moveScore > alpha) {
+                    alpha = moveScore;
+                    if(moveScore >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    private static int captureGain(final int move) {
+        final PieceType capturedType = EncodedMove.getCapturedType(move);
+        final int gain = capturedType == null ? 0 : Evaluator.pieceValue(capturedType);
+        return EncodedMove.isPromotion(move) ? gain + QUEEN_PROMOTION_GAIN : gain;
+    }
+
+    private void updatePrincipalVariation(final int ply, final int move) {
+        this.principalVariation[ply][ply] = move;
+        final int childLength = this.principalVariationLength[ply + 1];
+        for(int i = ply + 1; i < childLength; i++) {
+            this.principalVariation[ply][i] = this.principalVariation[ply + 1][i];
+        }
+        this.principalVariationLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    private boolean isRepetition(final int ply) {
+        for(int i = ply - 2; i >= 0; i -= 2) {
+            if(this.keyHistory[i] == this.keyHistory[ply]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int evaluate() {
+        return Evaluator.evaluate(this.position, this.position.getSideToMove());
+    }
+
+    //mate scores are stored relative to the node so they stay valid at any ply
+    private static int scoreToTable(final int score, final int ply) {
+        if(score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        if(score <= -MATE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(final int score, final int ply) {
+        if(score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        if(score <= -MATE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public List<Move> getPrincipalVariation(final Board board) {
+        final List<Move> principalVariation = new ArrayList<>(this.bestLine.length);
+        Board current = board;
+        for(final int encodedMove : this.bestLine) {
+            final Move move = MoveFactory.createMove(current, encodedMove);
+            principalVariation.add(move);
+            current = move.execute();
+        }
+        return Collections.unmodifiableList(principalVariation);
+    }
+
+    //usage: Search <milliseconds> [fen] [threads]
+    public static void main(final String[] args) {
+        if(args.length == 0) {
+            System.out.println("usage: Search <milliseconds> [fen] [threads]");
+            return;
+        }
+        final long timeLimit = Long.parseLong(args[0]);
+        final Board board = FenUtilities.createBoardFromFen(args.length > 1 ? args[1] : FenUtilities.STARTING_FEN);
+        final LazySmpSearch search = new LazySmpSearch(args.length > 2 ? Integer.parseInt(args[2]) : 1);
+        final long start = System.nanoTime();
+        final Move bestMove = search.findBestMove(board, timeLimit);
+        final long elapsed = (System.nanoTime() - start) / 1000000L;
+        final StringBuilder line = new StringBuilder();
+        for(final Move move : search.getPrincipalVariation(board)) {
+            line.append(' ').append(EncodedMove.toUciString(move));
+        }
+        System.out.println("depth " + search.getCompletedDepth() + " score " + search.getScore() +
+                " nodes " + search.getNodes() + " time " + elapsed + " ms threads " + search.getThreadCount() + " pv" + line);
+        System.out.println("bestmove " + EncodedMove.toUciString(bestMove));
+    }
+}
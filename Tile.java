@@ -2,13 +2,9 @@ package chess.engine.board;
 
 import chess.engine.pieces.Piece;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-
 public abstract class Tile {
-    private int location;
-    protected Piece piece;
+    private final int location;
+    protected final Piece piece;
 
     public Tile(int location) {
         this.location = location;
@@ -19,18 +15,37 @@ public abstract class Tile {
         this.piece = piece;
     }
 
-    private static final Map<Integer, EmptyTile> EMPTY_TILES_CACHE = createAllPossibleEmptyTiles();
+    private static final EmptyTile[] EMPTY_TILES_CACHE = createAllPossibleEmptyTiles();
+    //occupied tiles by Board piece code - 1 and location, since pieces are shared as well
+    private static final OccupiedTile[][] OCCUPIED_TILES_CACHE = createAllPossibleOccupiedTiles();
+
+    private static EmptyTile[] createAllPossibleEmptyTiles() {
+        final EmptyTile[] emptyTiles = new EmptyTile[BoardUtils.NUM_TILES];
+        for(int i = 0; i < BoardUtils.NUM_TILES; i++){
+            emptyTiles[i] = new EmptyTile(i);
+        }
+        return emptyTiles;
+    }
 
-    private static Map<Integer, EmptyTile> createAllPossibleEmptyTiles() {
-        final Map<Integer, EmptyTile> emptyTileMap = new HashMap<>();
-        for(int i = 0; i < 64; i++){
-            emptyTileMap.put(i, new EmptyTile(i));
+    private static OccupiedTile[][] createAllPossibleOccupiedTiles() {
+        final OccupiedTile[][] occupiedTiles = new OccupiedTile[12][BoardUtils.NUM_TILES];
+        for(int code = 1; code <= occupiedTiles.length; code++) {
+            for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
+                occupiedTiles[code - 1][i] = new OccupiedTile(i, Piece.of(code, i));
+            }
         }
-        return Collections.unmodifiableMap(emptyTileMap);
+        return occupiedTiles;
     }
 
     public static Tile createTile(int location, Piece piece) {
-        return piece != null ? new OccupiedTile(location, piece) : EMPTY_TILES_CACHE.get(location);
+        if(piece == null) {
+            return EMPTY_TILES_CACHE[location];
+        }
+        return OCCUPIED_TILES_CACHE[Board.bitBoardIndex(piece.getAlliance(), piece.getPieceType())][location];
+    }
+
+    public static Tile getTile(int location, int pieceCode) {
+        return pieceCode == 0 ? EMPTY_TILES_CACHE[location] : OCCUPIED_TILES_CACHE[pieceCode - 1][location];
     }
 
     public abstract Piece getPiece();
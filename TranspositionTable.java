@@ -0,0 +1,148 @@
+package chess.engine.search;
+
+import chess.engine.board.Board;
+import chess.engine.move.EncodedMove;
+import chess.engine.move.Move;
+import chess.engine.move.Move.MoveFactory;
+import chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+    public static final long NO_ENTRY = 0L;
+
+    private static final int BUCKET_SIZE = 4;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    //entry data: move (15 bits) | score (16) << 16 | depth (8) << 32 | bound (2) << 40 | age (8) << 42 | valid << 50
+    private static final long VALID = 1L << 50;
+
+    //two longs per entry: key ^ data, then data, so a torn or racing write fails verification
+    private final long[] entries;
+    private final int bucketMask;
+    private volatile int age;
+
+    public TranspositionTable(final int sizeInMegabytes) {
+        final long entryCount = ((long) sizeInMegabytes << 20) / 16;
+        final int buckets = Integer.highestOneBit((int) Math.max(1, Math.min(entryCount / BUCKET_SIZE, 1 << 26)));
+        this.entries = new long[buckets * BUCKET_SIZE * 2];
+        this.bucketMask = buckets - 1;
+        this.age = 0;
+    }
+
+    public void newSearch() {
+        this.age = (this.age + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(this.entries, 0L);
+        this.age = 0;
+    }
+
+    public long probe(final long zobristKey) {
+        final int bucket = bucketOf(zobristKey);
+        for(int i = bucket; i < bucket + BUCKET_SIZE * 2; i += 2) {
+            final long data = this.entries[i + 1];
+            if((this.entries[i] ^ data) == zobristKey && data != NO_ENTRY) {
+                return data;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    public void store(final long zobristKey, final int move, final int score, final int depth, final int bound) {
+        final int bucket = bucketOf(zobristKey);
+        final int currentAge = this.age;
+        int replace = bucket;
+        int replaceWorth = Integer.MAX_VALUE;
+        for(int i = bucket; i < bucket + BUCKET_SIZE * 2; i += 2) {
+            final long data = this.entries[i + 1];
+            final boolean sameKey = data != NO_ENTRY && (this.entries[i] ^ data) == zobristKey;
+            if(sameKey && depth < getDepth(data) && bound != EXACT) {
+                //a shallower bound never replaces a deeper result for the same position, it only refreshes it
+                final int bestMove = move == 0 ? getMove(data) : move;
+                writeEntry(i, zobristKey, pack(bestMove, getScore(data), getDepth(data), getBound(data), currentAge));
+                return;
+            }
+            if(data == NO_ENTRY || sameKey) {
+                //keep the old best move if this search did not find one
+                final int bestMove = move == 0 && sameKey ? getMove(data) : move;
+                writeEntry(i, zobristKey, pack(bestMove, score, depth, bound, currentAge));
+                return;
+            }
+            //entries from older searches are worth less than anything searched now
+            final int entryAge = (int) ((data >>> 42) & 0xFF);
+            final int worth = getDepth(data) - 8 * ((currentAge - entryAge) & 0xFF);
+            if(worth < replaceWorth) {
+                replaceWorth = worth;
+                replace = i;
+            }
+        }
+        writeEntry(replace, zobristKey, pack(move, score, depth, bound, currentAge));
+    }
+
+    private void writeEntry(final int index, final long zobristKey, final long data) {
+        this.entries[index] = zobristKey ^ data;
+        this.entries[index + 1] = data;
+    }
+
+    private int bucketOf(final long zobristKey) {
+        return (int) (zobristKey & this.bucketMask) * BUCKET_SIZE * 2;
+    }
+
+    private static long pack(final int move, final int score, final int depth, final int bound, final int age) {
+        return (move & 0x7FFFL) |
+                ((score & 0xFFFFL) << 16) |
+                ((long) (depth & 0xFF) << 32) |
+                ((long) bound << 40) |
+                ((long) age << 42) |
+                VALID;
+    }
+
+    public static int getMove(final long data) {
+        return (int) (data & 0x7FFF);
+    }
+
+    public static int getScore(final long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int getDepth(final long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    public static int getBound(final long data) {
+        return (int) ((data >>> 40) & 3);
+    }
+
+    //packed move: current coordinate | destination << 6 | promotion piece type ordinal + 1 << 12,
+    //which is also the low bits of an EncodedMove
+    public static int packMove(final Move move) {
+        if(move == null || move == MoveFactory.getNullMove()) {
+            return 0;
+        }
+        final PieceType promotionType = move.getPromotionType();
+        return move.getCurrentCoordinate() |
+                (move.getDestinationCoordinate() << 6) |
+                ((promotionType == null ? 0 : promotionType.ordinal() + 1) << 12);
+    }
+
+    public static int packMove(final int encodedMove) {
+        return encodedMove & EncodedMove.PACKED_MOVE_MASK;
+    }
+
+    public static Move unpackMove(final Board board, final int packedMove) {
+        if(packedMove == 0) {
+            return MoveFactory.getNullMove();
+        }
+        final int promotion = (packedMove >>> 12) & 7;
+        return MoveFactory.createMove(board,
+                                      packedMove & 63,
+                                      (packedMove >>> 6) & 63,
+                                      promotion == 0 ? null : PIECE_TYPES[promotion - 1]);
+    }
+}
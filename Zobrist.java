@@ -0,0 +1,88 @@
+package chess.engine.board;
+
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+
+public class Zobrist {
+
+    private static final long[][] PIECES = new long[12][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING = new long[BoardUtils.ALL_CASTLES + 1];
+    private static final long[] EN_PASSANT = new long[BoardUtils.NUM_TILES_PER_ROW];
+    public static final long SIDE;
+
+    static {
+        //fixed seed so keys are stable between runs
+        long seed = 0x9E3779B97F4A7C15L;
+        for(final long[] pieceKeys : PIECES) {
+            for(int i = 0; i < pieceKeys.length; i++) {
+                seed = nextRandom(seed);
+                pieceKeys[i] = seed;
+            }
+        }
+        //castling keys are built from one key per right so that rights combine by xor
+        final long[] rightKeys = new long[4];
+        for(int i = 0; i < rightKeys.length; i++) {
+            seed = nextRandom(seed);
+            rightKeys[i] = seed;
+        }
+        for(int rights = 0; rights < CASTLING.length; rights++) {
+            for(int i = 0; i < rightKeys.length; i++) {
+                if((rights & (1 << i)) != 0) {
+                    CASTLING[rights] ^= rightKeys[i];
+                }
+            }
+        }
+        for(int i = 0; i < EN_PASSANT.length; i++) {
+            seed = nextRandom(seed);
+            EN_PASSANT[i] = seed;
+        }
+        SIDE = nextRandom(seed);
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static long piece(final int bitBoardIndex, final int location) {
+        return PIECES[bitBoardIndex][location];
+    }
+
+    public static long piece(final Piece piece, final int location) {
+        return PIECES[Board.bitBoardIndex(piece.getAlliance(), piece.getPieceType())][location];
+    }
+
+    public static long castling(final int castlingRights) {
+        return CASTLING[castlingRights];
+    }
+
+    public static long enPassant(final int location) {
+        return location < 0 ? 0L : EN_PASSANT[location % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    public static long enPassant(final Pawn enPassantPawn) {
+        return enPassantPawn == null ? 0L : EN_PASSANT[enPassantPawn.getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    public static long calculateKey(final Board board) {
+        long key = 0L;
+        long pieces = board.getOccupancy();
+        while(pieces != 0) {
+            final int location = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            key ^= piece(board.getPiece(location), location);
+        }
+        key ^= castling(board.getCastlingRights());
+        key ^= enPassant(board.getEnPassantPawn());
+        if(board.getCurrentPlayer().getAlliance().isBlack()) {
+            key ^= SIDE;
+        }
+        return key;
+    }
+
+    private static long nextRandom(long x) {
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        return x * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,68 @@
+package chess.benchmarks;
+
+import chess.engine.board.Board;
+import chess.engine.move.Move;
+import chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public GamePhase phase;
+
+    private Board board;
+    private List<Piece> pieces;
+    private List<Move> legalMoves;
+
+    @Setup
+    public void setUp() {
+        this.board = this.phase.createBoard();
+        this.pieces = new ArrayList<>(this.board.getWhitePieces());
+        this.pieces.addAll(this.board.getBlackPieces());
+        this.legalMoves = new ArrayList<>(this.board.getCurrentPlayer().calculateLegalMoves());
+    }
+
+    @Benchmark
+    public Board createStartingGameBoard() {
+        return Board.createStartingGameBoard();
+    }
+
+    @Benchmark
+    public Board buildBoard() {
+        final Board.Builder builder = new Board.Builder();
+        for(final Piece piece : this.pieces) {
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(this.board.getCurrentPlayer().getAlliance());
+        builder.setCastlingRights(this.board.getCastlingRights());
+        return builder.build();
+    }
+
+    @Benchmark
+    public void executeMoves(final Blackhole blackhole) {
+        for(final Move move : this.legalMoves) {
+            blackhole.consume(move.execute());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package chess.benchmarks;
+
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+
+public enum GamePhase {
+    OPENING("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"),
+    MIDDLEGAME("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+    ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+
+    private final String fen;
+
+    GamePhase(final String fen) {
+        this.fen = fen;
+    }
+
+    public Board createBoard() {
+        return FenUtilities.createBoardFromFen(this.fen);
+    }
+}
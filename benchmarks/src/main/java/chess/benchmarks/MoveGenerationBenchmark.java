@@ -0,0 +1,74 @@
+package chess.benchmarks;
+
+import chess.engine.board.Board;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.Piece.PieceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public GamePhase phase;
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public PieceType pieceType;
+
+    private Board board;
+    private List<Piece> pieces;
+
+    @Setup
+    public void setUp() {
+        this.board = this.phase.createBoard();
+        this.pieces = new ArrayList<>();
+        for(final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
+            if(piece.getPieceType() == this.pieceType) {
+                this.pieces.add(piece);
+            }
+        }
+    }
+
+    //every call works on its own copy, so the attack maps and legal moves a board caches are never reused,
+    //copyBoard measures what the copy adds
+    @Benchmark
+    public Board copyBoard() {
+        return copyOf(this.board);
+    }
+
+    @Benchmark
+    public void calculateLegalMoves(final Blackhole blackhole) {
+        final Board board = copyOf(this.board);
+        for(final Piece piece : this.pieces) {
+            blackhole.consume(piece.calculateLegalMoves(board));
+        }
+    }
+
+    private static Board copyOf(final Board board) {
+        return new Board.Builder(board)
+                .setMoveMaker(board.getCurrentPlayer().getAlliance())
+                .setCastlingRights(board.getCastlingRights())
+                .setEnPassantPawn(board.getEnPassantPawn())
+                .setZobristKey(board.getZobristKey())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package chess.benchmarks;
+
+import chess.engine.Alliance;
+import chess.engine.board.Board;
+import chess.engine.board.BoardUtils;
+import chess.engine.move.Move;
+import chess.engine.player.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public GamePhase phase;
+
+    private Board board;
+    private Alliance alliance;
+    private List<Move> legalMoves;
+
+    @Setup
+    public void setUp() {
+        this.board = this.phase.createBoard();
+        this.alliance = this.board.getCurrentPlayer().getAlliance();
+        this.legalMoves = new ArrayList<>(this.board.getCurrentPlayer().calculateLegalMoves());
+    }
+
+    @Benchmark
+    public int isTileAttacked() {
+        int attacked = 0;
+        for(int location = 0; location < BoardUtils.NUM_TILES; location++) {
+            if(Player.isTileAttacked(location, this.board, this.alliance)) {
+                attacked++;
+            }
+        }
+        return attacked;
+    }
+
+    @Benchmark
+    public void calculateLegalMoves(final Blackhole blackhole) {
+        blackhole.consume(this.board.getCurrentPlayer().calculateLegalMoves());
+    }
+
+    @Benchmark
+    public void makeMove(final Blackhole blackhole) {
+        for(final Move move : this.legalMoves) {
+            blackhole.consume(this.board.getCurrentPlayer().makeMove(move));
+        }
+    }
+}